@@ -0,0 +1,105 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.EmployeeApplication;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import org.mockito.Mockito;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application without a web server against an in-memory H2 database, with the remote
+ * validators and the SMTP server stubbed out so only local work is measured.
+ */
+final class BenchmarkApplication {
+
+    private static final int INSERT_CHUNK = 1_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE, StubbedDependencies.class);
+    }
+
+    /**
+     * Starts the application with {@code stubs} as an extra configuration, whose {@code @Primary}
+     * beans replace the real dependencies, and with the given extra properties.
+     */
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, Class<?> stubs,
+                                                String... properties) {
+        return new SpringApplicationBuilder(EmployeeApplication.class, stubs)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Inserts {@code rows} employees in chunked transactions and returns their ids.
+     */
+    static List<UUID> insertEmployees(ConfigurableApplicationContext context, int rows) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        DepartmentRegistry departmentRegistry = context.getBean(DepartmentRegistry.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<UUID> ids = new ArrayList<>(rows);
+        for (int start = 0; start < rows; start += INSERT_CHUNK) {
+            List<Employee> chunk = new ArrayList<>(INSERT_CHUNK);
+            for (int i = start; i < Math.min(rows, start + INSERT_CHUNK); i++) {
+                chunk.add(employee(i));
+            }
+            chunk.forEach(employee -> departmentRegistry.register(employee.getDepartment()));
+            transactionTemplate.executeWithoutResult(status -> employeeRepository.saveAll(chunk));
+            chunk.forEach(employee -> ids.add(employee.getId()));
+        }
+        return ids;
+    }
+
+    static Employee employee(long n) {
+        return new Employee(null, "first" + n, "last" + n, "employee" + n + "@example.com",
+                "department" + (n % 20), 1500 + (n % 5000));
+    }
+
+    @Configuration
+    static class StubbedDependencies {
+
+        @Bean
+        @Primary
+        EmployeeValidator benchmarkEmployeeValidator() {
+            return Mockito.mock(EmployeeValidator.class);
+        }
+
+        @Bean
+        @Primary
+        JavaMailSender benchmarkMailSender() {
+            return noOpMailSender();
+        }
+    }
+
+    static JavaMailSender noOpMailSender() {
+        return new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+            }
+        };
+    }
+}
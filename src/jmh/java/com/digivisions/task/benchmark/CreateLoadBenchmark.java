@@ -0,0 +1,138 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.validation.DepartmentVerificationService;
+import com.digivisions.task.employeemanager.validation.EmailValidationService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Load test of POST /api/employees with validators that take {@link #VALIDATOR_LATENCY} each,
+ * side by side across the execution modes: {@code blocking} (request thread held throughout),
+ * {@code async} ({@code employee.create.async}, request thread released while validating) and
+ * {@code virtual} ({@code employee.threads.virtual}, needs Java 21). Tomcat is capped at
+ * {@link #TOMCAT_THREADS} threads, fewer than the client threads, so the blocking mode saturates
+ * on blocked request threads. Bulkheads are widened and admission control is off so they do not
+ * become the limit being measured; the gc profiler configured in the benchmark profile reports allocation per request.
+ * Every employee joins the same department, which is registered by the first request, so from
+ * then on only the email check waits on a validator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+public class CreateLoadBenchmark {
+
+    private static final long VALIDATOR_LATENCY = 50;
+    private static final int TOMCAT_THREADS = 32;
+
+    @Param({"blocking", "async", "virtual"})
+    private String mode;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI employees;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, SlowValidators.class,
+                "server.port=0",
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "employee.threads.virtual=" + mode.equals("virtual"),
+                "employee.create.async=" + mode.equals("async"),
+                "employee.validation.threads=" + TOMCAT_THREADS * 2,
+                "employee.resilience.max-concurrent-calls=10000",
+                "employee.admission.enabled=false",
+                "spring.datasource.hikari.maximum-pool-size=32");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        employees = URI.create("http://localhost:" + port + "/api/employees");
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createEmployee() throws IOException, InterruptedException {
+        long n = sequence.incrementAndGet();
+        String body = "{\"firstName\":\"first" + n + "\",\"lastName\":\"last" + n + "\",\"email\":\"employee" + n
+                + "@example.com\",\"department\":\"IT\",\"salary\":2000}";
+        HttpRequest request = HttpRequest.newBuilder(employees)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @Configuration
+    static class SlowValidators {
+
+        @Bean
+        @Primary
+        EmailValidationService slowEmailValidationService() {
+            EmailValidationService service = Mockito.mock(EmailValidationService.class);
+            doAnswer(invocation -> sleep()).when(service).isValidEmail(any());
+            return service;
+        }
+
+        @Bean
+        @Primary
+        DepartmentVerificationService slowDepartmentVerificationService() {
+            DepartmentVerificationService service = Mockito.mock(DepartmentVerificationService.class);
+            doAnswer(invocation -> sleep()).when(service).isValidDepartment(any());
+            return service;
+        }
+
+        @Bean
+        @Primary
+        JavaMailSender benchmarkMailSender() {
+            return BenchmarkApplication.noOpMailSender();
+        }
+
+        private static boolean sleep() throws InterruptedException {
+            Thread.sleep(VALIDATOR_LATENCY);
+            return true;
+        }
+    }
+}
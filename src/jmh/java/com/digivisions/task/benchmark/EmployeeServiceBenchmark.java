@@ -0,0 +1,79 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-employee paths through the service against H2. {@code getEmployeeById} is served from
+ * the entity cache once warm; {@code findById} shows the uncached database round trip for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int PRELOADED = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong(PRELOADED);
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        List<UUID> preloaded = BenchmarkApplication.insertEmployees(context, PRELOADED);
+        ids = preloaded.toArray(new UUID[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee createEmployee() {
+        return employeeService.createEmployee(BenchmarkApplication.employee(sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return employeeRepository.findById(randomId());
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
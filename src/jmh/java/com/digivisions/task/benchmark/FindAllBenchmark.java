@@ -0,0 +1,70 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeePage;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeView;
+import com.digivisions.task.employeemanager.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-table reads at growing table sizes: materialising {@code findAll}, the streamed export,
+ * and the first page of the keyset listing for contrast.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FindAllBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        BenchmarkApplication.insertEmployees(context, rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> findAll() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public void streamEmployees(Blackhole blackhole) {
+        employeeService.streamEmployees(blackhole::consume);
+    }
+
+    @Benchmark
+    public EmployeePage<EmployeeView> firstPage() {
+        return employeeService.findEmployees(new EmployeeQuery());
+    }
+}
@@ -0,0 +1,81 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.EmployeePage;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeView;
+import com.digivisions.task.employeemanager.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup by email and the department filter at 1M rows, with the email and department indexes
+ * in place and with both dropped, so each plan can be compared against a full scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IndexBenchmark {
+
+    private static final int DEPARTMENTS = 20;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        BenchmarkApplication.insertEmployees(context, rows);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            // Hibernate may create the unique email index as a constraint rather than a plain index.
+            jdbcTemplate.execute("alter table employee drop constraint if exists idx_employee_email");
+            jdbcTemplate.execute("drop index if exists idx_employee_email");
+            jdbcTemplate.execute("drop index if exists idx_employee_department");
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeePage<EmployeeView> findByEmail() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setEmail(BenchmarkApplication.employee(ThreadLocalRandom.current().nextInt(rows)).getEmail());
+        return employeeService.findEmployees(query);
+    }
+
+    @Benchmark
+    public EmployeePage<EmployeeView> filterByDepartment() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setDepartment("department" + ThreadLocalRandom.current().nextInt(DEPARTMENTS));
+        return employeeService.findEmployees(query);
+    }
+}
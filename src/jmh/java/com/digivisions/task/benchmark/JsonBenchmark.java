@@ -0,0 +1,90 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"100", "10000"})
+    private int listSize;
+
+    private ObjectWriter employeeWriter;
+    private ObjectReader employeeReader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+
+    private Employee employee;
+    private byte[] employeeJson;
+    private List<Employee> employees;
+    private byte[] employeesJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TypeReference<List<Employee>> listType = new TypeReference<>() {
+        };
+        employeeWriter = objectMapper.writerFor(Employee.class);
+        employeeReader = objectMapper.readerFor(Employee.class);
+        listWriter = objectMapper.writerFor(listType);
+        listReader = objectMapper.readerFor(listType);
+
+        employee = withId(BenchmarkApplication.employee(0));
+        employeeJson = employeeWriter.writeValueAsBytes(employee);
+        employees = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            employees.add(withId(BenchmarkApplication.employee(i)));
+        }
+        employeesJson = listWriter.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws IOException {
+        return employeeWriter.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return employeeReader.readValue(employeeJson);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws IOException {
+        return listWriter.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws IOException {
+        return listReader.readValue(employeesJson);
+    }
+
+    private static Employee withId(Employee employee) {
+        employee.setId(UUID.randomUUID());
+        return employee;
+    }
+}
@@ -0,0 +1,131 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * The listing page and the NDJSON export, read and written to a discarding stream, before and
+ * after the switch to projections: {@code entity*} load managed {@link Employee}s and serialize
+ * them through the {@link ObjectMapper} as the endpoints used to, {@code view*} go through
+ * {@link EmployeeService} as the endpoints do now. Compare {@code gc.alloc.rate.norm} from the gc
+ * profiler configured in the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListingBenchmark {
+
+    private static final int EXPORT_ROWS = 100_000;
+
+    @Param({"50", "500"})
+    private int limit;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private EmployeeQuery query;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.insertEmployees(context, EXPORT_ROWS);
+        employeeService = context.getBean(EmployeeService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+        query = new EmployeeQuery();
+        query.setLimit(limit);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entityPage() throws IOException {
+        List<Employee> page = readOnly.execute(status -> entityManager
+                .createQuery("select e from Employee e order by e.id", Employee.class)
+                .setMaxResults(limit + 1)
+                .setHint(HINT_READONLY, true)
+                .getResultList());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page.subList(0, limit));
+    }
+
+    @Benchmark
+    public void viewPage() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), employeeService.findEmployees(query).getEmployees());
+    }
+
+    @Benchmark
+    public void entityExport() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Employee> employees = entityManager
+                        .createQuery("select e from Employee e order by e.id", Employee.class)
+                        .getResultStream()) {
+                    employees.forEach(employee -> {
+                        write(() -> objectMapper.writeValue(generator, employee));
+                        entityManager.detach(employee);
+                    });
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void viewExport() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            employeeService.streamEmployees(employee -> write(() -> employee.writeTo(generator)));
+        }
+    }
+
+    private static void write(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface IoAction {
+
+        void run() throws IOException;
+    }
+}
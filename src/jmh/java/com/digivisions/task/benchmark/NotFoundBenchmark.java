@@ -0,0 +1,76 @@
+package com.digivisions.task.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of GET /api/employees/{id} for ids that do not exist, i.e. the 404 path end to end:
+ * cache miss, primary-key lookup, exception, problem body and logging. {@code logEvery=1} logs
+ * every client error as well, for comparison with the default sampling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(16)
+public class NotFoundBenchmark {
+
+    @Param({"1", "100"})
+    private int logEvery;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String employees;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, BenchmarkApplication.StubbedDependencies.class,
+                "server.port=0",
+                "employee.admission.enabled=false",
+                "employee.errors.log-every=" + logEvery,
+                "logging.level.com.digivisions.task.employeemanager.exception=INFO");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        employees = "http://localhost:" + port + "/api/employees/";
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getMissingEmployee() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(employees + UUID.randomUUID())).GET().build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 404) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
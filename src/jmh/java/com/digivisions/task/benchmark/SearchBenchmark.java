@@ -0,0 +1,70 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.EmployeeView;
+import com.digivisions.task.employeemanager.service.EmployeeSearchIndex;
+import com.digivisions.task.employeemanager.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead queries against the search index at 1M employees: a whole word, a narrow and a broad
+ * prefix, a typo, and a department shared by 50k employees. {@code searchEmployees} adds reading
+ * the top ten rows from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SearchBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"last123456", "first1234", "fir", "lsat123456", "department7"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.insertEmployees(context, rows);
+        employeeSearchIndex = context.getBean(EmployeeSearchIndex.class);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeSearchIndex.rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UUID> searchIndex() {
+        return employeeSearchIndex.search(query, 10);
+    }
+
+    @Benchmark
+    public List<EmployeeView> searchEmployees() {
+        return employeeService.searchEmployees(query, 10);
+    }
+}
@@ -0,0 +1,131 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk insert into a file-backed H2 table keyed by each id scheme: random UUIDs as 36-character
+ * text, random UUIDs as 16 bytes, and time-ordered UUIDs as 16 bytes. Each run starts from an
+ * empty database; the table's size on disk afterwards is reported as the {@code diskBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UuidKeyBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    @Param({"1000000", "5000000"})
+    private int rows;
+
+    @Param({"random-text", "random-binary", "time-ordered-binary"})
+    private String keys;
+
+    private Path directory;
+    private Connection connection;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TableSize {
+
+        public long diskBytes;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("uuid-keys");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("keys"), "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table employee (id " + (keys.equals("random-text") ? "varchar(36)" : "binary(16)")
+                    + " primary key, email varchar(255))");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void insert(TableSize tableSize) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("insert into employee (id, email) values (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, key());
+                insert.setString(2, "employee" + i + "@example.com");
+                insert.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("select disk_space_used('EMPLOYEE')")) {
+            size.next();
+            tableSize.diskBytes = size.getLong(1);
+        }
+    }
+
+    private Object key() {
+        switch (keys) {
+            case "random-text":
+                return UUID.randomUUID().toString();
+            case "random-binary":
+                return bytes(UUID.randomUUID());
+            default:
+                return bytes(TimeOrderedUuidGenerator.next());
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,73 @@
+package com.digivisions.task.benchmark;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating the bean-validation constraints declared on {@link Employee}, for a valid
+ * employee and for one that violates most of them (violations build messages, which dominates).
+ * Properties are validated one by one and salary is left out: its {@code @NotBlank} on a
+ * {@code double} makes Hibernate Validator throw {@code UnexpectedTypeException} for the field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final String[] PROPERTIES = {"firstName", "lastName", "email", "department"};
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Employee valid;
+    private Employee invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = new Employee(UUID.randomUUID(), "ahmed", "hamdy", "ahmed.hamdy@example.com", "IT", 2000);
+        invalid = new Employee(UUID.randomUUID(), "a", "", "not-an-email", " ", 100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public int validEmployee() {
+        return validate(valid);
+    }
+
+    @Benchmark
+    public int invalidEmployee() {
+        return validate(invalid);
+    }
+
+    private int validate(Employee employee) {
+        int violations = 0;
+        for (String property : PROPERTIES) {
+            violations += validator.validateProperty(employee, property).size();
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,207 @@
+package com.digivisions.task.employeemanager.config;
+
+import com.digivisions.task.employeemanager.model.Problem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of {@code /api/**}. A request is first charged to its client's
+ * {@link RateLimiter} bucket for the endpoint and answered 429 when that is empty; it is then
+ * counted in flight and answered 503 when too many are. The in-flight cap drops to
+ * {@code latency-max-in-flight} while the recent p99 latency is above the threshold, so a slow
+ * database or validator sheds load instead of queueing it. Both answers carry {@code Retry-After}
+ * and a problem body like the other error responses.
+ * <p>
+ * Published as {@code employee.admission.decisions} (decision time), {@code .rejections} (by
+ * endpoint and reason), {@code .in.flight} and {@code .latency} (admitted requests, with p99).
+ */
+@Slf4j
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String UNLIMITED = "none";
+
+    private final AdmissionProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Timer decisions;
+    private final Timer latency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean slow;
+
+    public AdmissionFilter(AdmissionProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.decisions = Timer.builder("employee.admission.decisions").register(meterRegistry);
+        this.latency = Timer.builder("employee.admission.latency")
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(properties.getLatencyWindow())
+                .register(meterRegistry);
+        meterRegistry.gauge("employee.admission.in.flight", inFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !UrlPathHelper.defaultInstance.getPathWithinApplication(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        AdmissionProperties.Endpoint endpoint = rateLimiter.match(request.getMethod(),
+                UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        long wait = endpoint == null ? 0 : rateLimiter.acquire(client(request), endpoint);
+        if (wait > 0) {
+            decisions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, endpoint.getName(), "rate_limited",
+                    TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1),
+                    "Rate limit exceeded for " + endpoint.getName() + ".");
+            return;
+        }
+        int limit = slow ? properties.getLatencyMaxInFlight() : properties.getMaxInFlight();
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            decisions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, endpoint == null ? UNLIMITED : endpoint.getName(),
+                    slow ? "slow" : "overloaded", Math.max(1, properties.getShedRetryAfter().toSeconds()),
+                    "Service is busy, try again later.");
+            return;
+        }
+        decisions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted() && !isStream(response)) {
+                request.getAsyncContext().addListener(new Release(start));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                release(start, !request.isAsyncStarted());
+            }
+        }
+    }
+
+    /**
+     * Re-reads the p99 of admitted requests; checked on a schedule rather than per request.
+     */
+    @Scheduled(fixedDelayString = "${employee.admission.latency-check-interval:PT1S}")
+    public void checkLatency() {
+        double p99 = 0;
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            p99 = percentile.value(TimeUnit.NANOSECONDS);
+        }
+        boolean wasSlow = slow;
+        slow = p99 > properties.getLatencyThreshold().toNanos();
+        if (slow != wasSlow) {
+            log.warn("p99 latency {} ms, in-flight limit now {}", (long) (p99 / 1_000_000),
+                    slow ? properties.getLatencyMaxInFlight() : properties.getMaxInFlight());
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The authenticated principal if there is one, else the client header when a trusted proxy set
+     * it, else the remote address. Callers cannot pick a fresh bucket by inventing a header.
+     */
+    private String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (properties.getTrustedProxies().contains(remoteAddress)) {
+            String client = request.getHeader(properties.getClientHeader());
+            if (client != null && !client.isBlank()) {
+                return "client:" + client;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private void release(long start, boolean completed) {
+        inFlight.decrementAndGet();
+        if (completed) {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Event streams and NDJSON exports stay open for as long as the client listens or reads, so
+     * they are neither counted in flight nor timed once they start. They are recognised by the
+     * content type, so a streaming handler must set it on its response entity.
+     */
+    private static boolean isStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && (contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE)
+                || contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String endpoint,
+                        String reason, long retryAfterSeconds, String message) throws IOException {
+        meterRegistry.counter("employee.admission.rejections", "endpoint", endpoint, "reason", reason).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(Problem.MEDIA_TYPE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new Problem(status.getReasonPhrase(), status.value(), message, request.getRequestURI()));
+    }
+
+    /**
+     * Releases an asynchronous request when it completes; a timeout or error is followed by completion.
+     */
+    private class Release implements AsyncListener {
+
+        private final long start;
+
+        Release(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(start, true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
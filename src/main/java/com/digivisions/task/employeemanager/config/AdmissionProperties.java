@@ -0,0 +1,225 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "employee.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Header naming the calling client, e.g. a batch job, as set by a {@link #trustedProxies trusted proxy}.
+     * Unauthenticated requests without it, or from any other address, are keyed by remote address.
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Remote addresses whose {@link #clientHeader} is believed; none by default, so the header is ignored.
+     */
+    private Set<String> trustedProxies = new HashSet<>();
+
+    /**
+     * Rate-limited endpoints, matched in order; requests matching none are only subject to load shedding.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    /**
+     * Most clients whose buckets are kept; the least recently seen are dropped first.
+     */
+    private int maxClients = 10_000;
+
+    /**
+     * A client's buckets are dropped after this long without requests, by which time they are full again.
+     */
+    private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Requests in progress at most before new ones are answered 503.
+     */
+    private int maxInFlight = 200;
+
+    /**
+     * While the recent p99 request latency is above this, {@link #latencyMaxInFlight} applies instead.
+     */
+    private Duration latencyThreshold = Duration.ofSeconds(2);
+
+    private int latencyMaxInFlight = 32;
+
+    /**
+     * Span of requests the p99 is computed over.
+     */
+    private Duration latencyWindow = Duration.ofSeconds(30);
+
+    /**
+     * {@code Retry-After} sent with a 503.
+     */
+    private Duration shedRetryAfter = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    public Set<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(Set<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public Duration getClientIdleTimeout() {
+        return clientIdleTimeout;
+    }
+
+    public void setClientIdleTimeout(Duration clientIdleTimeout) {
+        this.clientIdleTimeout = clientIdleTimeout;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public int getLatencyMaxInFlight() {
+        return latencyMaxInFlight;
+    }
+
+    public void setLatencyMaxInFlight(int latencyMaxInFlight) {
+        this.latencyMaxInFlight = latencyMaxInFlight;
+    }
+
+    public Duration getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public void setLatencyWindow(Duration latencyWindow) {
+        this.latencyWindow = latencyWindow;
+    }
+
+    public Duration getShedRetryAfter() {
+        return shedRetryAfter;
+    }
+
+    public void setShedRetryAfter(Duration shedRetryAfter) {
+        this.shedRetryAfter = shedRetryAfter;
+    }
+
+    /**
+     * A token bucket per client for the requests matching {@link #method} and {@link #pattern}:
+     * {@link #burst} requests at once, refilled at {@link #rate} per second.
+     */
+    public static class Endpoint {
+
+        private String name;
+
+        /**
+         * HTTP method, or any when unset.
+         */
+        private String method;
+
+        /**
+         * Ant-style path pattern, e.g. {@code /api/employees/*}.
+         */
+        private String pattern;
+
+        private double rate = 10;
+
+        private int burst = 20;
+
+        public Endpoint() {
+        }
+
+        public Endpoint(String name, String method, String pattern, double rate, int burst) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+}
@@ -1,15 +1,90 @@
 package com.digivisions.task.employeemanager.config;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
+@EnableConfigurationProperties({ValidationProperties.class, ValidationCacheProperties.class, MailOutboxProperties.class,
+        EmployeeCacheProperties.class, EmployeeChangeProperties.class, AdmissionProperties.class,
+        IdempotencyProperties.class, LocalValidationProperties.class, EmployeeCreateProperties.class})
 public class AppConfig {
 
+    /**
+     * Template used by the validators: shares the pooled client but applies the per-call validation deadlines.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient,
+                                     ValidationProperties validationProperties, HttpClientProperties httpClientProperties) {
+        return builder.requestFactory(() -> {
+            HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+            requestFactory.setConnectTimeout(HttpClientConfig.millis(validationProperties.getConnectTimeout()));
+            requestFactory.setReadTimeout(HttpClientConfig.millis(validationProperties.getReadTimeout()));
+            requestFactory.setConnectionRequestTimeout(HttpClientConfig.millis(httpClientProperties.getPoolAcquireTimeout()));
+            return requestFactory;
+        }).build();
+    }
+
+    /**
+     * Declared explicitly because any other executor bean switches off Boot's default one, which
+     * MVC async requests and {@code @Async} rely on.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor validationExecutor(ValidationProperties validationProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(validationProperties.getThreads());
+        executor.setMaxPoolSize(validationProperties.getThreads());
+        executor.setQueueCapacity(validationProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("validation-");
+        return executor;
     }
-}
 
+    /**
+     * Saves employees once their asynchronous validation passes. Bounded in both threads and queue,
+     * unlike the shared application executor, so a burst of creates is refused rather than piling
+     * up behind the connection pool; a refused save fails its request with a 503.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor createExecutor(EmployeeCreateProperties createProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(createProperties.getThreads());
+        executor.setMaxPoolSize(createProperties.getThreads());
+        executor.setQueueCapacity(createProperties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("create-");
+        return executor;
+    }
+
+    /**
+     * Workers that deliver outbox mails; when all are busy the drain thread sends the batch itself.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor mailExecutor(MailOutboxProperties mailProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailProperties.getThreads());
+        executor.setMaxPoolSize(mailProperties.getThreads());
+        executor.setQueueCapacity(mailProperties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("mail-");
+        return executor;
+    }
+}
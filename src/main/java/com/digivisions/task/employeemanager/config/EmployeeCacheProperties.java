@@ -0,0 +1,32 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCacheProperties {
+
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how long an entry is served; writes through this service evict sooner.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
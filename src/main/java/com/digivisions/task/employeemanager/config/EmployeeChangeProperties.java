@@ -0,0 +1,71 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employee.changes")
+public class EmployeeChangeProperties {
+
+    /**
+     * Most changes retained; older ones are dropped first.
+     */
+    private int capacity = 100_000;
+
+    /**
+     * How long a change is retained at most.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    private int maxPageSize = 1_000;
+
+    /**
+     * Lifetime of one event stream; clients reconnect with {@code Last-Event-ID} and resume.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval of the comment lines that keep idle streams open and detect gone clients.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+}
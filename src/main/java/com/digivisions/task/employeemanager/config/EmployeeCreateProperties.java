@@ -0,0 +1,33 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "employee.create")
+public class EmployeeCreateProperties {
+
+    /**
+     * Threads saving validated employees; each holds a database connection while it works.
+     */
+    private int threads = 8;
+
+    /**
+     * Validated employees waiting for a thread at most before further creates are answered 503.
+     */
+    private int queueCapacity = 100;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
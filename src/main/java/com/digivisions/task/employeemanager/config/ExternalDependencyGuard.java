@@ -0,0 +1,68 @@
+package com.digivisions.task.employeemanager.config;
+
+import com.digivisions.task.employeemanager.exception.ExternalServiceException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs calls to one external dependency through its circuit breaker and bulkhead, and reports
+ * every way the dependency can be unavailable as an {@link ExternalServiceException}. Each call
+ * is timed as {@code external.calls} tagged with the dependency and its outcome.
+ */
+public class ExternalDependencyGuard {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer circuitOpenTimer;
+    private final Timer bulkheadFullTimer;
+
+    public ExternalDependencyGuard(String name, CircuitBreakerRegistry circuitBreakerRegistry,
+                                   BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+        this.bulkhead = bulkheadRegistry.bulkhead(name);
+        this.successTimer = meterRegistry.timer("external.calls", "dependency", name, "outcome", "success");
+        this.failureTimer = meterRegistry.timer("external.calls", "dependency", name, "outcome", "failure");
+        this.circuitOpenTimer = meterRegistry.timer("external.calls", "dependency", name, "outcome", "circuit_open");
+        this.bulkheadFullTimer = meterRegistry.timer("external.calls", "dependency", name, "outcome", "bulkhead_full");
+    }
+
+    public <T> T call(Supplier<T> call) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call));
+        long start = System.nanoTime();
+        Timer outcome = failureTimer;
+        try {
+            T result = guarded.get();
+            outcome = successTimer;
+            return result;
+        } catch (CallNotPermittedException e) {
+            outcome = circuitOpenTimer;
+            throw new ExternalServiceException(name + " is unavailable (circuit open)", e);
+        } catch (BulkheadFullException e) {
+            outcome = bulkheadFullTimer;
+            throw new ExternalServiceException(name + " is saturated (too many concurrent calls)", e);
+        } catch (ExternalServiceException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ExternalServiceException(name + " call failed: " + e.getMessage(), e);
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
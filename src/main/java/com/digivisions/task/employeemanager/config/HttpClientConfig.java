@@ -0,0 +1,79 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single pooled HTTP client shared by every outbound caller. Callers get their own
+ * {@link RestTemplate} on top of it when they need different deadlines.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerHost());
+        connectionManager.setValidateAfterInactivity(millis(properties.getValidateAfterInactivity()));
+        properties.getHosts().forEach((host, maxConnections) ->
+                connectionManager.setMaxPerRoute(httpsRoute(host), maxConnections));
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          HttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(millis(properties.getConnectTimeout()))
+                .setSocketTimeout(millis(properties.getReadTimeout()))
+                .setConnectionRequestTimeout(millis(properties.getPoolAcquireTimeout()))
+                .build();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS);
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public HttpClientPoolMetrics httpClientPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager,
+                                                       HttpClientProperties properties) {
+        return new HttpClientPoolMetrics(httpConnectionManager, properties.getHosts().keySet());
+    }
+
+    /**
+     * General purpose template for outbound calls that use the client-wide timeouts.
+     */
+    @Bean
+    public RestTemplate externalRestTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient)).build();
+    }
+
+    static HttpRoute httpsRoute(String host) {
+        return new HttpRoute(new HttpHost(host, 443, "https"), null, true);
+    }
+
+    static int millis(Duration duration) {
+        return (int) Math.min(duration.toMillis(), Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,60 @@
+package com.digivisions.task.employeemanager.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+/**
+ * Leased, available, pending and max connection gauges for the shared outbound pool, in total
+ * ({@code host=all}) and for every configured host.
+ */
+public class HttpClientPoolMetrics implements MeterBinder {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Collection<String> hosts;
+
+    public HttpClientPoolMetrics(PoolingHttpClientConnectionManager connectionManager, Collection<String> hosts) {
+        this.connectionManager = connectionManager;
+        this.hosts = hosts;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "all", null);
+        for (String host : hosts) {
+            register(registry, host, host);
+        }
+    }
+
+    private void register(MeterRegistry registry, String tag, String host) {
+        gauge(registry, "http.client.pool.leased", tag, host, PoolStats::getLeased);
+        gauge(registry, "http.client.pool.available", tag, host, PoolStats::getAvailable);
+        gauge(registry, "http.client.pool.pending", tag, host, PoolStats::getPending);
+        gauge(registry, "http.client.pool.max", tag, host, PoolStats::getMax);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String tag, String host, ToIntFunction<PoolStats> stat) {
+        Gauge.builder(name, connectionManager, manager -> sum(manager, host, stat))
+                .tag("host", tag)
+                .register(registry);
+    }
+
+    private static double sum(PoolingHttpClientConnectionManager manager, String host, ToIntFunction<PoolStats> stat) {
+        if (host == null) {
+            return stat.applyAsInt(manager.getTotalStats());
+        }
+        int total = 0;
+        for (HttpRoute route : manager.getRoutes()) {
+            if (host.equalsIgnoreCase(route.getTargetHost().getHostName())) {
+                total += stat.applyAsInt(manager.getStats(route));
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,108 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "employee.http")
+public class HttpClientProperties {
+
+    private int maxConnections = 200;
+
+    private int maxConnectionsPerHost = 20;
+
+    /**
+     * Per-host overrides of {@link #maxConnectionsPerHost} for HTTPS hosts, keyed by host name.
+     * Every host listed here also gets its own pool gauges.
+     */
+    private Map<String, Integer> hosts = new LinkedHashMap<>();
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long a caller waits to lease a connection from a saturated pool.
+     */
+    private Duration poolAcquireTimeout = Duration.ofMillis(500);
+
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private boolean compression = true;
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public Map<String, Integer> getHosts() {
+        return hosts;
+    }
+
+    public void setHosts(Map<String, Integer> hosts) {
+        this.hosts = hosts;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Duration getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    public void setPoolAcquireTimeout(Duration poolAcquireTimeout) {
+        this.poolAcquireTimeout = poolAcquireTimeout;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    public Duration getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+}
@@ -0,0 +1,35 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employee.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Most keys remembered; the oldest are dropped first.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a key is remembered, i.e. the window in which a retry is answered from the store.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
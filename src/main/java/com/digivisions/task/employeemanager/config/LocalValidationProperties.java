@@ -0,0 +1,64 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "employee.validation.local")
+public class LocalValidationProperties {
+
+    /**
+     * Email domains rejected without asking the email validator, e.g. disposable mail providers.
+     */
+    private Set<String> deniedDomains = new LinkedHashSet<>();
+
+    /**
+     * Email domains accepted without asking the email validator once the address is well formed.
+     */
+    private Set<String> allowedDomains = new LinkedHashSet<>();
+
+    /**
+     * Known departments, one per line; blank lines and lines starting with {@code #} are ignored.
+     * Departments listed here skip the remote verification. Empty disables the registry.
+     */
+    private String departmentsFile = "";
+
+    /**
+     * How often the departments file is checked for changes.
+     */
+    private Duration departmentsReloadInterval = Duration.ofSeconds(30);
+
+    public Set<String> getDeniedDomains() {
+        return deniedDomains;
+    }
+
+    public void setDeniedDomains(Set<String> deniedDomains) {
+        this.deniedDomains = deniedDomains;
+    }
+
+    public Set<String> getAllowedDomains() {
+        return allowedDomains;
+    }
+
+    public void setAllowedDomains(Set<String> allowedDomains) {
+        this.allowedDomains = allowedDomains;
+    }
+
+    public String getDepartmentsFile() {
+        return departmentsFile;
+    }
+
+    public void setDepartmentsFile(String departmentsFile) {
+        this.departmentsFile = departmentsFile;
+    }
+
+    public Duration getDepartmentsReloadInterval() {
+        return departmentsReloadInterval;
+    }
+
+    public void setDepartmentsReloadInterval(Duration departmentsReloadInterval) {
+        this.departmentsReloadInterval = departmentsReloadInterval;
+    }
+}
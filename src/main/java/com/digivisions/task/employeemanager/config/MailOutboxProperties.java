@@ -0,0 +1,95 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employee.mail")
+public class MailOutboxProperties {
+
+    private int threads = 2;
+
+    private int queueCapacity = 16;
+
+    /**
+     * Due mails read from the outbox per drain round.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Mails sent over a single SMTP connection.
+     */
+    private int connectionBatchSize = 50;
+
+    private int maxAttempts = 5;
+
+    private Duration initialBackoff = Duration.ofSeconds(10);
+
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    private Duration pollInterval = Duration.ofSeconds(15);
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getConnectionBatchSize() {
+        return connectionBatchSize;
+    }
+
+    public void setConnectionBatchSize(int connectionBatchSize) {
+        this.connectionBatchSize = connectionBatchSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+}
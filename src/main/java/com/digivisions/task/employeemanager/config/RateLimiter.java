@@ -0,0 +1,99 @@
+package com.digivisions.task.employeemanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client and endpoint. Each bucket is a single {@link AtomicLong} updated by
+ * compare-and-set (the generic cell rate algorithm), so concurrent requests never block each other;
+ * a client's buckets live in one bounded cache entry and are created on its first request.
+ */
+@Component
+public class RateLimiter {
+
+    private final List<AdmissionProperties.Endpoint> endpoints;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, TokenBucket[]> clients;
+
+    public RateLimiter(AdmissionProperties properties) {
+        this.endpoints = List.copyOf(properties.getEndpoints());
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+    }
+
+    /**
+     * The first endpoint matching the request, or {@code null} when it is not rate-limited.
+     */
+    public AdmissionProperties.Endpoint match(String method, String path) {
+        for (AdmissionProperties.Endpoint endpoint : endpoints) {
+            if ((endpoint.getMethod() == null || endpoint.getMethod().equalsIgnoreCase(method))
+                    && pathMatcher.match(endpoint.getPattern(), path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a token from the client's bucket for the endpoint.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public long acquire(String client, AdmissionProperties.Endpoint endpoint) {
+        return acquire(client, endpoint, System.nanoTime());
+    }
+
+    long acquire(String client, AdmissionProperties.Endpoint endpoint, long now) {
+        TokenBucket[] buckets = clients.get(client, key -> buckets(now));
+        return buckets[endpoints.indexOf(endpoint)].acquire(now);
+    }
+
+    private TokenBucket[] buckets(long now) {
+        TokenBucket[] buckets = new TokenBucket[endpoints.size()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new TokenBucket(endpoints.get(i), now);
+        }
+        return buckets;
+    }
+
+    /**
+     * Keeps the theoretical arrival time of the next request: one interval past the previous one,
+     * or now if the bucket has been idle. A request is admitted while that time is less than a full
+     * burst ahead of now, which is the same as having a token left.
+     */
+    static final class TokenBucket {
+
+        private final long interval;
+        private final long burstWindow;
+        private final AtomicLong arrival;
+
+        TokenBucket(AdmissionProperties.Endpoint endpoint, long now) {
+            this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / endpoint.getRate());
+            this.burstWindow = interval * endpoint.getBurst();
+            this.arrival = new AtomicLong(now);
+        }
+
+        long acquire(long now) {
+            while (true) {
+                long current = arrival.get();
+                long next = Math.max(current, now) + interval;
+                long wait = next - burstWindow - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
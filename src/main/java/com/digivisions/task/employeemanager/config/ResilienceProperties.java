@@ -0,0 +1,140 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employee.resilience")
+public class ResilienceProperties {
+
+    /**
+     * What to do when a validator is unavailable (circuit open, bulkhead full, timeout or error).
+     */
+    public enum DegradedPolicy {
+        FAIL_FAST,
+        ACCEPT_AND_RECHECK
+    }
+
+    private int slidingWindowSize = 20;
+
+    private int minimumCalls = 10;
+
+    private float failureRateThreshold = 50;
+
+    private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+    private float slowCallRateThreshold = 80;
+
+    private Duration openStateDuration = Duration.ofSeconds(30);
+
+    private int halfOpenCalls = 3;
+
+    private int maxConcurrentCalls = 10;
+
+    private Duration maxWait = Duration.ZERO;
+
+    private DegradedPolicy degradedPolicy = DegradedPolicy.FAIL_FAST;
+
+    /**
+     * Pending rechecks read from the table at a time.
+     */
+    private int recheckBatchSize = 500;
+
+    private int recheckMaxAttempts = 5;
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(float failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    public void setSlowCallThreshold(Duration slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public Duration getOpenStateDuration() {
+        return openStateDuration;
+    }
+
+    public void setOpenStateDuration(Duration openStateDuration) {
+        this.openStateDuration = openStateDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public DegradedPolicy getDegradedPolicy() {
+        return degradedPolicy;
+    }
+
+    public void setDegradedPolicy(DegradedPolicy degradedPolicy) {
+        this.degradedPolicy = degradedPolicy;
+    }
+
+    public int getRecheckBatchSize() {
+        return recheckBatchSize;
+    }
+
+    public void setRecheckBatchSize(int recheckBatchSize) {
+        this.recheckBatchSize = recheckBatchSize;
+    }
+
+    public int getRecheckMaxAttempts() {
+        return recheckMaxAttempts;
+    }
+
+    public void setRecheckMaxAttempts(int recheckMaxAttempts) {
+        this.recheckMaxAttempts = recheckMaxAttempts;
+    }
+}
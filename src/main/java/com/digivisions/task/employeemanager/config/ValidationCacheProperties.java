@@ -0,0 +1,45 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employee.validation.cache")
+public class ValidationCacheProperties {
+
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a successful verification is trusted.
+     */
+    private Duration positiveTtl = Duration.ofHours(1);
+
+    /**
+     * How long a rejection is remembered; kept short so a fixed upstream record is picked up quickly.
+     */
+    private Duration negativeTtl = Duration.ofMinutes(5);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getPositiveTtl() {
+        return positiveTtl;
+    }
+
+    public void setPositiveTtl(Duration positiveTtl) {
+        this.positiveTtl = positiveTtl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+}
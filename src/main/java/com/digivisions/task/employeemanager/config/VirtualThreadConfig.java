@@ -0,0 +1,36 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in mode ({@code employee.threads.virtual=true}, Java 21+) that runs servlet requests, the
+ * validator fan-out and mail delivery on virtual threads, so a request blocked on a remote call,
+ * JDBC or SMTP no longer holds a platform thread. Concurrency is then bounded by the resilience
+ * bulkheads and the HTTP and JDBC connection pools rather than by thread counts. Replaces the
+ * pooled {@code validationExecutor} and {@code mailExecutor} from {@link AppConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newExecutor("http-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService validationExecutor() {
+        return VirtualThreads.newExecutor("validation-");
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mailExecutor() {
+        return VirtualThreads.newExecutor("mail-");
+    }
+}
@@ -0,0 +1,35 @@
+package com.digivisions.task.employeemanager.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual-thread executors reflectively, so the application still compiles for Java 17
+ * and only needs Java 21 at runtime when virtual threads are switched on.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * An executor that starts one virtual thread per task, named {@code namePrefix} plus a counter.
+     */
+    static ExecutorService newExecutor(String namePrefix) {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("employee.threads.virtual=true needs Java 21 or newer, running on "
+                    + Runtime.version());
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual-thread executor", e);
+        }
+    }
+}
@@ -1,65 +1,246 @@
 package com.digivisions.task.employeemanager.controller;
 
-import com.digivisions.task.employeemanager.exception.EmployeeNotFoundException;
+import com.digivisions.task.employeemanager.model.BulkImportResult;
+import com.digivisions.task.employeemanager.model.DepartmentStats;
 import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeChange;
+import com.digivisions.task.employeemanager.model.EmployeePage;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeView;
+import com.digivisions.task.employeemanager.service.DepartmentStatsService;
+import com.digivisions.task.employeemanager.service.EmployeeChangeLog;
+import com.digivisions.task.employeemanager.service.EmployeeChangeStream;
+import com.digivisions.task.employeemanager.service.EmployeeImportService;
 import com.digivisions.task.employeemanager.service.EmployeeService;
+import com.digivisions.task.employeemanager.service.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+    static final String MERGE_PATCH = "application/merge-patch+json";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final DepartmentStatsService departmentStatsService;
+    private final EmployeeChangeLog changeLog;
+    private final EmployeeChangeStream changeStream;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeImportService employeeImportService,
+                              DepartmentStatsService departmentStatsService, EmployeeChangeLog changeLog,
+                              EmployeeChangeStream changeStream, IdempotencyStore idempotencyStore,
+                              ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.departmentStatsService = departmentStatsService;
+        this.changeLog = changeLog;
+        this.changeStream = changeStream;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Lists employees one page at a time. Supports filters ({@code department}, {@code email}, {@code minSalary},
+     * {@code maxSalary}, {@code namePrefix}, {@code emailDomain}), ordering ({@code sort=department,-salary}),
+     * sparse fields ({@code fields=firstName,email}) and {@code cursor}/{@code limit} paging.
+     */
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<?>> getAllEmployees(EmployeeQuery query) {
+        EmployeePage<?> page = query.isProjection()
+                ? employeeService.findEmployeeFields(query)
+                : employeeService.findEmployees(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getEmployees());
+    }
+
+    /**
+     * Every employee as one JSON object per line, written by a single generator straight to the
+     * response as rows are read; nothing is collected in between.
+     */
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                employeeService.streamEmployees(employee -> {
+                    try {
+                        employee.writeTo(generator);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Type-ahead search: {@code q} is matched word by word against names, emails and departments,
+     * by prefix and with one typo allowed, and results come best match first.
+     */
+    @GetMapping("/search")
+    public List<EmployeeView> searchEmployees(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return employeeService.searchEmployees(q, limit);
+    }
+
+    /**
+     * Changes after sequence {@code since}, in the order this instance saw them commit, for consumers
+     * that sync incrementally instead of re-reading the listing. Answers 410 when those changes are
+     * no longer retained or the sequence is not from the current log; see {@link EmployeeChangeLog}.
+     */
+    @GetMapping("/changes")
+    public List<EmployeeChange> getChanges(@RequestParam(required = false) Long since,
+                                           @RequestParam(required = false) Integer limit) {
+        return changeLog.since(since, limit);
     }
 
+    /**
+     * The same changes as Server-Sent Events, followed by new ones as they commit. Without
+     * {@code since} or {@code Last-Event-ID} the stream starts at the current end of the log.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStream.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Headcount and salary aggregates per department, served from rollups kept current on every write.
+     */
+    @GetMapping("/stats")
+    public List<DepartmentStats> getDepartmentStats() {
+        return departmentStatsService.getStats();
+    }
+
+    /**
+     * Recomputes the department rollups from the table, for reconciliation.
+     */
+    @PostMapping("/stats/rebuild")
+    public List<DepartmentStats> rebuildDepartmentStats() {
+        return departmentStatsService.rebuild();
+    }
+
+    /**
+     * Returns the employee with its version as ETag; a matching {@code If-None-Match} gets 304 without a body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable UUID id) {
-        try {
-            Employee employee = employeeService.getEmployeeById(id);
-            return ResponseEntity.ok(employee);
-        } catch (EmployeeNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found", e);
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable UUID id, WebRequest request) {
+        Employee employee = employeeService.getEmployeeById(id);
+        String etag = etag(employee);
+        if (request.checkNotModified(etag)) {
+            return null;
         }
+        return ResponseEntity.ok().eTag(etag).body(employee);
     }
 
+    /**
+     * Completes asynchronously, so the request thread is released while the employee is validated.
+     * A retry with the same {@code Idempotency-Key} gets the employee created by the first attempt,
+     * waiting for it if it is still running, without validating, inserting or mailing again.
+     */
     @PostMapping
-    public ResponseEntity<Employee> createEmployee(@Valid @RequestBody Employee employee) {
-        Employee createdEmployee = employeeService.createEmployee(employee);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody Employee employee,
+                                                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        // Ids are generated; with a versioned entity a client-supplied one would make save() persist a detached instance.
+        employee.setId(null);
+        CompletableFuture<Employee> created = idempotencyKey == null
+                ? employeeService.createEmployeeAsync(employee)
+                : idempotencyStore.execute(idempotencyKey, Arrays.asList(employee.getFirstName(), employee.getLastName(),
+                        employee.getEmail(), employee.getDepartment(), employee.getSalary()),
+                        () -> employeeService.createEmployeeAsync(employee));
+        return created
+                .thenApply(createdEmployee -> ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public BulkImportResult importEmployees(InputStream body) {
+        return employeeImportService.importJson(body);
+    }
+
+    @PostMapping(value = "/bulk", consumes = CSV)
+    public BulkImportResult importEmployeesCsv(InputStream body) {
+        return employeeImportService.importCsv(body);
+    }
+
+    /**
+     * Replaces the employee. With {@code If-Match} the write only happens if the ETag still matches, otherwise 412.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable UUID id, @RequestBody Employee employee) {
-        try {
-            Employee updatedEmployee = employeeService.updateEmployee(id, employee);
-            return ResponseEntity.ok(updatedEmployee);
-        } catch (EmployeeNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found", e);
-        }
+    public ResponseEntity<Employee> updateEmployee(@PathVariable UUID id, @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee updatedEmployee = employeeService.updateEmployee(id, employee, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(updatedEmployee)).body(updatedEmployee);
+    }
+
+    /**
+     * Updates only the fields present in the body, with the same {@code If-Match} handling as PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, MERGE_PATCH})
+    public ResponseEntity<Employee> patchEmployee(@PathVariable UUID id, @RequestBody Map<String, Object> changes,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee updatedEmployee = employeeService.patchEmployee(id, changes, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(updatedEmployee)).body(updatedEmployee);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable UUID id) {
+        employeeService.deleteEmployee(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * The version is bumped on every write, so it identifies the representation without hashing it.
+     */
+    static String etag(Employee employee) {
+        return "\"" + (employee.getVersion() == null ? 0 : employee.getVersion()) + "\"";
+    }
+
+    /**
+     * The version named by an {@code If-Match} header, or {@code null} when absent or {@code *}.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
         try {
-            employeeService.deleteEmployee(id);
-            return ResponseEntity.noContent().build();
-        } catch (EmployeeNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found", e);
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Unrecognised ETag", e);
         }
     }
 }
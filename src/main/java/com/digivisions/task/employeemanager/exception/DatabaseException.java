@@ -1,7 +1,10 @@
 package com.digivisions.task.employeemanager.exception;
 
+/**
+ * Answered 500. Created without a stack trace; the message names the operation that failed.
+ */
 public class DatabaseException extends RuntimeException {
     public DatabaseException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,7 +1,11 @@
 package com.digivisions.task.employeemanager.exception;
 
+/**
+ * No employee with the requested id, answered 404. An everyday outcome, so it is created without a
+ * stack trace: filling one in cost more than the lookup that failed.
+ */
 public class EmployeeNotFoundException extends RuntimeException {
     public EmployeeNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -1,37 +1,170 @@
 package com.digivisions.task.employeemanager.exception;
 
+import com.digivisions.task.employeemanager.model.Problem;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maps exceptions to RFC 7807 problem responses and counts each one as {@code api.exceptions},
+ * tagged with the exception type and the status returned, since handled exceptions never reach
+ * the request metrics. Client errors are expected outcomes: only one in
+ * {@code employee.errors.log-every} is logged, without a stack trace, through the asynchronous
+ * appender in {@code logback-spring.xml}. Server errors are always logged in full.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final MediaType PROBLEM_JSON = MediaType.parseMediaType(Problem.MEDIA_TYPE);
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong clientErrors = new AtomicLong();
+
+    @Value("${employee.errors.log-every:100}")
+    private int logEvery = 100;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void checkLogEvery() {
+        if (logEvery < 1) {
+            throw new IllegalStateException("employee.errors.log-every must be at least 1, was " + logEvery);
+        }
+    }
+
     @ExceptionHandler(EmployeeNotFoundException.class)
-    public ResponseEntity<String> handleEmployeeNotFound(EmployeeNotFoundException ex) {
-        log.error("Exception of ", ex);
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<Problem> handleEmployeeNotFound(EmployeeNotFoundException ex, HttpServletRequest request) {
+        return clientError(ex, HttpStatus.NOT_FOUND, ex.getMessage(), request);
     }
 
     @ExceptionHandler(InvalidInputException.class)
-    public ResponseEntity<String> handleInvalidInput(InvalidInputException ex) {
+    public ResponseEntity<Problem> handleInvalidInput(InvalidInputException ex, HttpServletRequest request) {
+        return clientError(ex, HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Problem> handleInvalidBody(MethodArgumentNotValidException ex, HttpServletRequest request) {
+        StringJoiner detail = new StringJoiner("; ");
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            detail.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+        return clientError(ex, HttpStatus.BAD_REQUEST, detail.toString(), request);
+    }
+
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<Problem> handleChangesExpired(ChangesExpiredException ex, HttpServletRequest request) {
+        return clientError(ex, HttpStatus.GONE, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Problem> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex, HttpServletRequest request) {
+        return clientError(ex, HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Problem> handleOptimisticLockingFailure(OptimisticLockingFailureException ex,
+                                                                  HttpServletRequest request) {
+        return clientError(ex, HttpStatus.PRECONDITION_FAILED, "Employee has been modified.", request);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Problem> handleDataIntegrityViolation(DataIntegrityViolationException ex,
+                                                                HttpServletRequest request) {
+        return clientError(ex, HttpStatus.CONFLICT, conflict(ex), request);
+    }
+
+    /**
+     * Names the rule that was broken when the violated constraint is one of ours; H2 reports a
+     * unique index as e.g. {@code PUBLIC.IDX_EMPLOYEE_EMAIL_INDEX_4 ON ...}.
+     */
+    static String conflict(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException
+                ? ((ConstraintViolationException) ex.getCause()).getConstraintName() : null;
+        if (constraint != null) {
+            constraint = constraint.toLowerCase(Locale.ROOT);
+            if (constraint.contains("idx_employee_email")) {
+                return "An employee with this email already exists.";
+            }
+            if (constraint.contains("idx_department_name")) {
+                return "Department already exists.";
+            }
+            if (constraint.contains("fk_employee_department")) {
+                return "Department does not exist.";
+            }
+        }
+        return "Request conflicts with existing data.";
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Problem> handleResponseStatus(ResponseStatusException ex, HttpServletRequest request) {
+        if (ex.getStatus().is5xxServerError()) {
+            log.error("Exception of ", ex);
+            return respond(ex, ex.getStatus(), ex.getReason(), request);
+        }
+        return clientError(ex, ex.getStatus(), ex.getReason(), request);
+    }
+
+    @ExceptionHandler(ExternalServiceException.class)
+    public ResponseEntity<Problem> handleExternalServiceException(ExternalServiceException ex, HttpServletRequest request) {
         log.error("Exception of ", ex);
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return respond(ex, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
+    /**
+     * A bounded executor, such as the one saving new employees, had no room for the work.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Problem> handleRejectedExecution(RejectedExecutionException ex, HttpServletRequest request) {
+        log.warn("Rejected {} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return respond(ex, HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, try again later.", request);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGenericException(Exception ex) {
+    public ResponseEntity<Problem> handleGenericException(Exception ex, HttpServletRequest request) {
         log.error("Exception of ", ex);
-        return new ResponseEntity<>("Internal Server Error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        return respond(ex, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error: " + ex.getMessage(), request);
     }
 
     @ExceptionHandler(DatabaseException.class)
-    public ResponseEntity<String> handleDatabaseException(DatabaseException ex) {
-        log.error("Exception of ", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+    public ResponseEntity<Problem> handleDatabaseException(DatabaseException ex, HttpServletRequest request) {
+        log.error("Database error: {}", ex.getMessage());
+        return respond(ex, HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), request);
     }
-}
 
+    private ResponseEntity<Problem> clientError(Exception ex, HttpStatus status, String detail, HttpServletRequest request) {
+        if (Math.floorMod(clientErrors.getAndIncrement(), logEvery) == 0) {
+            log.info("{} {} {}: {} (1 in {} client errors logged)", status.value(), request.getMethod(),
+                    request.getRequestURI(), detail, logEvery);
+        }
+        return respond(ex, status, detail, request);
+    }
+
+    private ResponseEntity<Problem> respond(Exception ex, HttpStatus status, String detail, HttpServletRequest request) {
+        meterRegistry.counter("api.exceptions", "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+        return ResponseEntity.status(status)
+                .contentType(PROBLEM_JSON)
+                .body(new Problem(status.getReasonPhrase(), status.value(), detail, request.getRequestURI()));
+    }
+}
@@ -1,7 +1,10 @@
 package com.digivisions.task.employeemanager.exception;
 
+/**
+ * Rejected input, answered 400. Stackless; the message already says which field was wrong.
+ */
 public class InvalidInputException extends RuntimeException {
     public InvalidInputException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
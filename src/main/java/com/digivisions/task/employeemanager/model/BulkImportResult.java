@@ -0,0 +1,76 @@
+package com.digivisions.task.employeemanager.model;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BulkImportResult {
+
+    public enum RowStatus {
+        CREATED,
+        REJECTED
+    }
+
+    private final List<RowResult> rows;
+
+    public BulkImportResult(List<RowResult> rows) {
+        this.rows = rows;
+    }
+
+    public int getTotal() {
+        return rows.size();
+    }
+
+    public long getCreated() {
+        return rows.stream().filter(row -> row.getStatus() == RowStatus.CREATED).count();
+    }
+
+    public long getRejected() {
+        return rows.stream().filter(row -> row.getStatus() == RowStatus.REJECTED).count();
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public static class RowResult {
+
+        private final int row;
+        private final RowStatus status;
+        private final UUID id;
+        private final String error;
+
+        private RowResult(int row, RowStatus status, UUID id, String error) {
+            this.row = row;
+            this.status = status;
+            this.id = id;
+            this.error = error;
+        }
+
+        public static RowResult created(int row, UUID id) {
+            return new RowResult(row, RowStatus.CREATED, id, null);
+        }
+
+        public static RowResult rejected(int row, String error) {
+            return new RowResult(row, RowStatus.REJECTED, null, error);
+        }
+
+        /**
+         * 1-based position of the row in the submitted payload.
+         */
+        public int getRow() {
+            return row;
+        }
+
+        public RowStatus getStatus() {
+            return status;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
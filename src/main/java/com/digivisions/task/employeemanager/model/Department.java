@@ -0,0 +1,40 @@
+package com.digivisions.task.employeemanager.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * A registered department. Employees store its integer key instead of repeating the name on
+ * every row; rows are only ever added, once a new department has been verified.
+ */
+@Entity
+@Table(name = "department", indexes = @Index(name = "idx_department_name", columnList = "name", unique = true))
+public class Department {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+
+    public Department() {
+    }
+
+    public Department(String name) {
+        this.name = name;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,43 @@
+package com.digivisions.task.employeemanager.model;
+
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores {@link Employee#getDepartment()} as the key of its {@link Department}, translated through
+ * the in-memory {@link DepartmentRegistry}. Hibernate creates converters through the Spring bean
+ * container while the entity manager factory is being built, so the registry, which needs that
+ * factory, is looked up on first use.
+ */
+@Converter
+public class DepartmentConverter implements AttributeConverter<String, Integer> {
+
+    private final ObjectProvider<DepartmentRegistry> departmentRegistry;
+
+    public DepartmentConverter(ObjectProvider<DepartmentRegistry> departmentRegistry) {
+        this.departmentRegistry = departmentRegistry;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the department has not been registered
+     */
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = departmentRegistry.getObject().idOf(name);
+        if (id == null) {
+            throw new IllegalArgumentException("Department is not registered: " + name);
+        }
+        return id;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : departmentRegistry.getObject().nameOf(id);
+    }
+}
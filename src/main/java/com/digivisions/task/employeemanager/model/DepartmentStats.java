@@ -0,0 +1,54 @@
+package com.digivisions.task.employeemanager.model;
+
+import java.util.Map;
+
+public class DepartmentStats {
+
+    private final String department;
+    private final long headcount;
+    private final double totalSalary;
+    private final double minSalary;
+    private final double maxSalary;
+    private final Map<String, Double> percentiles;
+
+    public DepartmentStats(String department, long headcount, double totalSalary, double minSalary, double maxSalary,
+                           Map<String, Double> percentiles) {
+        this.department = department;
+        this.headcount = headcount;
+        this.totalSalary = totalSalary;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.percentiles = percentiles;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    public double getAverageSalary() {
+        return totalSalary / headcount;
+    }
+
+    public double getMinSalary() {
+        return minSalary;
+    }
+
+    public double getMaxSalary() {
+        return maxSalary;
+    }
+
+    /**
+     * Nearest-rank salary percentiles keyed {@code p50}, {@code p90} and {@code p99}.
+     */
+    public Map<String, Double> getPercentiles() {
+        return percentiles;
+    }
+}
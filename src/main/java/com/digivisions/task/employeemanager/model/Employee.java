@@ -1,17 +1,37 @@
 package com.digivisions.task.employeemanager.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.*;
 import java.util.UUID;
 
 @Entity
+@Table(name = "employee", indexes = {
+        @Index(name = "idx_employee_department", columnList = "department_id"),
+        @Index(name = "idx_employee_email", columnList = "email", unique = true),
+        @Index(name = "idx_employee_last_name", columnList = "lastName")
+})
 public class Employee {
 
+    /**
+     * Time-ordered (version 7) UUID, stored as 16 raw bytes rather than text.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = TimeOrderedUuidGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedUuidGenerator.NAME,
+            strategy = "com.digivisions.task.employeemanager.model.TimeOrderedUuidGenerator")
+    @Type(type = "uuid-binary")
+    @Column(length = 16)
     private UUID id;
 
     @NotBlank(message = "First name is required")
@@ -26,7 +46,12 @@ public class Employee {
     @NotBlank(message = "Email is required")
     private String email;
 
+    /**
+     * Stored as the key of a registered {@link Department}; see {@link DepartmentConverter}.
+     */
     @NotBlank(message = "Department is required")
+    @Convert(converter = DepartmentConverter.class)
+    @Column(name = "department_id")
     private String department;
 
     @Positive(message = "Salary must be positive and minimum is 1500")
@@ -34,6 +59,13 @@ public class Employee {
     @Min(value = 1500)
     private double salary;
 
+    /**
+     * Optimistic-lock version, bumped by every update and published as the ETag; never read from request bodies.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     public Employee() {
     }
 
@@ -106,4 +138,12 @@ public class Employee {
     public void setSalary(double salary) {
         this.salary = salary;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,57 @@
+package com.digivisions.task.employeemanager.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class EmployeeChange {
+
+    private final long sequence;
+    private final ChangeType type;
+    private final UUID employeeId;
+    private final Long version;
+    private final Instant timestamp;
+    private final Employee employee;
+
+    public EmployeeChange(long sequence, ChangeType type, UUID employeeId, Long version, Instant timestamp,
+                          Employee employee) {
+        this.sequence = sequence;
+        this.type = type;
+        this.employeeId = employeeId;
+        this.version = version;
+        this.timestamp = timestamp;
+        this.employee = employee;
+    }
+
+    /**
+     * Position in the change log; consecutive changes have consecutive sequences.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * When the change was committed.
+     */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The employee as written, or as it was before a delete.
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+}
@@ -0,0 +1,29 @@
+package com.digivisions.task.employeemanager.model;
+
+import java.util.List;
+
+public class EmployeePage<T> {
+
+    private final List<T> employees;
+    private final String nextCursor;
+
+    public EmployeePage(List<T> employees, String nextCursor) {
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Opaque continuation token for the next page, or {@code null} when this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
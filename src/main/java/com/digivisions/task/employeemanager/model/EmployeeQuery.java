@@ -0,0 +1,178 @@
+package com.digivisions.task.employeemanager.model;
+
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Filters, ordering, projection and cursor of an employee listing, bound from request parameters.
+ * {@code sort} lists field names, a leading {@code -} meaning descending; {@code fields} restricts
+ * the returned columns.
+ */
+public class EmployeeQuery {
+
+    public static final Map<String, Class<?>> FIELDS;
+
+    static {
+        Map<String, Class<?>> fields = new LinkedHashMap<>();
+        fields.put("id", UUID.class);
+        fields.put("firstName", String.class);
+        fields.put("lastName", String.class);
+        fields.put("email", String.class);
+        fields.put("department", String.class);
+        fields.put("salary", Double.class);
+        FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    private String department;
+    private String email;
+    private Double minSalary;
+    private Double maxSalary;
+    private String namePrefix;
+    private String emailDomain;
+    private List<String> sort = new ArrayList<>();
+    private List<String> fields = new ArrayList<>();
+    private String cursor;
+    private Integer limit;
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(Double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(Double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+
+    public List<String> getSort() {
+        return sort;
+    }
+
+    public void setSort(List<String> sort) {
+        this.sort = sort;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public boolean isProjection() {
+        return fields != null && !fields.isEmpty();
+    }
+
+    /**
+     * The requested ordering followed by {@code id}, so every row has a unique position for keyset paging.
+     */
+    public List<SortField> getOrdering() {
+        List<SortField> ordering = new ArrayList<>();
+        boolean hasId = false;
+        if (sort != null) {
+            for (String field : sort) {
+                SortField sortField = SortField.parse(field);
+                hasId |= sortField.getField().equals("id");
+                ordering.add(sortField);
+            }
+        }
+        if (!hasId) {
+            ordering.add(new SortField("id", true));
+        }
+        return ordering;
+    }
+
+    public static void checkField(String field) {
+        if (!FIELDS.containsKey(field)) {
+            throw new InvalidInputException("Unknown field: " + field);
+        }
+    }
+
+    public static class SortField {
+
+        private final String field;
+        private final boolean ascending;
+
+        public SortField(String field, boolean ascending) {
+            checkField(field);
+            this.field = field;
+            this.ascending = ascending;
+        }
+
+        static SortField parse(String value) {
+            String trimmed = value.trim();
+            return trimmed.startsWith("-")
+                    ? new SortField(trimmed.substring(1), false)
+                    : new SortField(trimmed.startsWith("+") ? trimmed.substring(1) : trimmed, true);
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.digivisions.task.employeemanager.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Immutable read-side copy of an {@link Employee}, selected with a constructor expression so it never
+ * enters the persistence context. Writes itself field by field to a {@link JsonGenerator}, producing
+ * the same JSON as the entity without going through bean introspection.
+ */
+public final class EmployeeView implements JsonSerializable {
+
+    private final UUID id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String department;
+    private final double salary;
+    private final Long version;
+
+    public EmployeeView(UUID id, String firstName, String lastName, String email, String department,
+                        double salary, Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.department = department;
+        this.salary = salary;
+        this.version = version;
+    }
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartment(), employee.getSalary(), employee.getVersion());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public double getSalary() {
+        return salary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void writeTo(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (id == null) {
+            generator.writeNullField("id");
+        } else {
+            generator.writeStringField("id", id.toString());
+        }
+        generator.writeStringField("firstName", firstName);
+        generator.writeStringField("lastName", lastName);
+        generator.writeStringField("email", email);
+        generator.writeStringField("department", department);
+        generator.writeNumberField("salary", salary);
+        if (version == null) {
+            generator.writeNullField("version");
+        } else {
+            generator.writeNumberField("version", version);
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        writeTo(generator);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+            throws IOException {
+        writeTo(generator);
+    }
+}
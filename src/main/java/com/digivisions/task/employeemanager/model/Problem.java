@@ -0,0 +1,51 @@
+package com.digivisions.task.employeemanager.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Error response body in the RFC 7807 {@code application/problem+json} format. {@code type} is
+ * always {@code about:blank}, so {@code title} is the status phrase and {@code detail} says what
+ * went wrong with this request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Problem {
+
+    public static final String MEDIA_TYPE = "application/problem+json";
+
+    private static final String TYPE = "about:blank";
+
+    private final String title;
+    private final int status;
+    private final String detail;
+    private final String instance;
+
+    public Problem(String title, int status, String detail, String instance) {
+        this.title = title;
+        this.status = status;
+        this.detail = detail;
+        this.instance = instance;
+    }
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Path of the request that failed.
+     */
+    public String getInstance() {
+        return instance;
+    }
+}
@@ -0,0 +1,7 @@
+package com.digivisions.task.employeemanager.model;
+
+public enum RecheckStatus {
+    PENDING,
+    REJECTED,
+    ABANDONED
+}
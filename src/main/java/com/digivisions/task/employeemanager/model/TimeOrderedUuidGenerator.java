@@ -0,0 +1,38 @@
+package com.digivisions.task.employeemanager.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates version 7 UUIDs: a 48-bit Unix millisecond timestamp, then a 12-bit counter that keeps
+ * ids issued within one millisecond increasing, then 62 random bits. New keys therefore land at the
+ * right edge of the primary-key index instead of splitting pages all over it as random UUIDs do.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    public static final String NAME = "time-ordered-uuid";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Timestamp shifted left by 12 bits, plus the counter. Only ever grows, so ids stay ordered
+    // even if the clock steps back; a counter overflow borrows from the next millisecond.
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long mostSigBits = (state >>> 12) << 16 | 0x7000L | (state & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+}
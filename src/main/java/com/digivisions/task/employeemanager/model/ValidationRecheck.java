@@ -0,0 +1,138 @@
+package com.digivisions.task.employeemanager.model;
+
+import com.digivisions.task.employeemanager.validation.ValidationCheck;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Checks an employee was accepted without, written in the same transaction as the employee. The
+ * row is deleted once they pass; an employee that fails one, or whose checks never complete, is
+ * left {@link RecheckStatus#REJECTED} or {@link RecheckStatus#ABANDONED} for follow-up.
+ */
+@Entity
+@Table(name = "validation_recheck", indexes = @Index(name = "idx_validation_recheck_due", columnList = "status, nextAttemptAt"))
+public class ValidationRecheck {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Type(type = "uuid-binary")
+    @Column(length = 16)
+    private UUID id;
+
+    @Type(type = "uuid-binary")
+    @Column(nullable = false, length = 16)
+    private UUID employeeId;
+
+    /**
+     * Comma-separated {@link ValidationCheck} names still to run.
+     */
+    @Column(nullable = false, length = 64)
+    private String checks;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecheckStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public ValidationRecheck() {
+    }
+
+    public ValidationRecheck(UUID employeeId, Set<ValidationCheck> checks, Instant createdAt) {
+        this.employeeId = employeeId;
+        setChecks(checks);
+        this.status = RecheckStatus.PENDING;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Set<ValidationCheck> getChecks() {
+        Set<ValidationCheck> parsed = EnumSet.noneOf(ValidationCheck.class);
+        Arrays.stream(checks.split(",")).map(ValidationCheck::valueOf).forEach(parsed::add);
+        return parsed;
+    }
+
+    public void setChecks(Set<ValidationCheck> checks) {
+        this.checks = checks.stream().map(ValidationCheck::name).collect(Collectors.joining(","));
+    }
+
+    public RecheckStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RecheckStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,13 @@
+package com.digivisions.task.employeemanager.repository;
+
+import com.digivisions.task.employeemanager.model.Department;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DepartmentRepository extends JpaRepository<Department, Integer> {
+
+    Optional<Department> findByName(String name);
+}
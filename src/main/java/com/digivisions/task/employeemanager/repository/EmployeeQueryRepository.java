@@ -0,0 +1,39 @@
+package com.digivisions.task.employeemanager.repository;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EmployeeQueryRepository {
+
+    /**
+     * @param after values of the query ordering for the last row already returned, or {@code null} for the first page
+     */
+    List<EmployeeView> search(EmployeeQuery query, List<Object> after, int limit);
+
+    /**
+     * Like {@link #search} but selects only the named columns. Each row also carries the ordering
+     * columns, which the caller needs to build the next cursor.
+     */
+    List<Map<String, Object>> searchFields(EmployeeQuery query, List<String> fields, List<Object> after, int limit);
+
+    /**
+     * Deletes the employee in one statement and returns the row as it was, or empty if there was none.
+     */
+    Optional<Employee> deleteByIdReturning(UUID id);
+
+    /**
+     * Writes only the given fields, bumping the version, in one statement and returns the row as it
+     * was before the update. Empty if there is no such employee or, when {@code expectedVersion} is
+     * given, its version differs.
+     *
+     * @param changes new values keyed by field name; only {@code firstName}, {@code lastName},
+     *                {@code email}, {@code department} and {@code salary} are writable
+     */
+    Optional<Employee> updateReturningPrevious(UUID id, Map<String, Object> changes, Long expectedVersion);
+}
@@ -0,0 +1,265 @@
+package com.digivisions.task.employeemanager.repository;
+
+import com.digivisions.task.employeemanager.model.Department;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeQuery.SortField;
+import com.digivisions.task.employeemanager.model.EmployeeView;
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Criteria-built listing queries. Filters map to indexed columns where possible and paging is a
+ * seek predicate over the ordering columns, so only the requested page leaves the database. Rows
+ * are constructed as {@link EmployeeView}s and never enter the persistence context.
+ * Writes select from H2's {@code OLD TABLE} delta of a single {@code DELETE} or {@code UPDATE},
+ * which reports the previous row without reading it first.
+ * <p>
+ * Departments are filtered by key, so a filter on a department that is not registered matches
+ * nothing without a query. Ordering by department joins the department table and sorts by name,
+ * as keys only reflect the order departments were registered in.
+ */
+public class EmployeeQueryRepositoryImpl implements EmployeeQueryRepository {
+
+    private static final Map<String, String> WRITABLE_COLUMNS = Map.of(
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email",
+            "department", "department_id",
+            "salary", "salary");
+
+    private static final String PREVIOUS_ROW = "select first_name, last_name, email, department_id, salary, version from old table (";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DepartmentRegistry departmentRegistry;
+
+    public EmployeeQueryRepositoryImpl(DepartmentRegistry departmentRegistry) {
+        this.departmentRegistry = departmentRegistry;
+    }
+
+    @Override
+    public List<EmployeeView> search(EmployeeQuery query, List<Object> after, int limit) {
+        if (!matchesDepartment(query)) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeView> criteria = cb.createQuery(EmployeeView.class);
+        Root<Employee> root = criteria.from(Employee.class);
+        List<SortField> ordering = query.getOrdering();
+        Root<Department> department = joinDepartment(criteria, ordering);
+        criteria.select(cb.construct(EmployeeView.class, root.get("id"), root.get("firstName"), root.get("lastName"),
+                        root.get("email"), root.get("department"), root.get("salary"), root.get("version")))
+                .where(where(cb, root, department, query, ordering, after))
+                .orderBy(orderBy(cb, root, department, ordering));
+        return entityManager.createQuery(criteria)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFields(EmployeeQuery query, List<String> fields, List<Object> after, int limit) {
+        if (!matchesDepartment(query)) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<Employee> root = criteria.from(Employee.class);
+        List<SortField> ordering = query.getOrdering();
+        Root<Department> department = joinDepartment(criteria, ordering);
+        Set<String> columns = new LinkedHashSet<>(fields);
+        ordering.forEach(sortField -> columns.add(sortField.getField()));
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            EmployeeQuery.checkField(column);
+            selections.add(root.get(column).alias(column));
+        }
+        criteria.multiselect(selections)
+                .where(where(cb, root, department, query, ordering, after))
+                .orderBy(orderBy(cb, root, department, ordering));
+        List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(limit).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public Optional<Employee> deleteByIdReturning(UUID id) {
+        List<?> rows = entityManager.createNativeQuery(PREVIOUS_ROW + "delete from employee where id = :id)")
+                .setParameter("id", id)
+                .getResultList();
+        return previous(id, rows);
+    }
+
+    @Override
+    public Optional<Employee> updateReturningPrevious(UUID id, Map<String, Object> changes, Long expectedVersion) {
+        StringJoiner assignments = new StringJoiner(", ");
+        for (String field : changes.keySet()) {
+            String column = WRITABLE_COLUMNS.get(field);
+            if (column == null) {
+                throw new IllegalArgumentException("Field is not writable: " + field);
+            }
+            assignments.add(column + " = :" + field);
+        }
+        assignments.add("version = coalesce(version, 0) + 1");
+        String update = "update employee set " + assignments + " where id = :id"
+                + (expectedVersion == null ? "" : " and coalesce(version, 0) = :version");
+        Query statement = entityManager.createNativeQuery(PREVIOUS_ROW + update + ")")
+                .setParameter("id", id);
+        changes.forEach((field, value) -> statement.setParameter(field,
+                field.equals("department") ? departmentId((String) value) : value));
+        if (expectedVersion != null) {
+            statement.setParameter("version", expectedVersion);
+        }
+        return previous(id, statement.getResultList());
+    }
+
+    private Integer departmentId(String department) {
+        Integer id = departmentRegistry.idOf(department);
+        if (id == null) {
+            throw new IllegalArgumentException("Department is not registered: " + department);
+        }
+        return id;
+    }
+
+    private Optional<Employee> previous(UUID id, List<?> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.get(0);
+        String department = row[3] == null ? null : departmentRegistry.nameOf(((Number) row[3]).intValue());
+        Employee employee = new Employee(id, (String) row[0], (String) row[1], (String) row[2], department,
+                ((Number) row[4]).doubleValue());
+        employee.setVersion(row[5] == null ? 0L : ((Number) row[5]).longValue());
+        return Optional.of(employee);
+    }
+
+    private boolean matchesDepartment(EmployeeQuery query) {
+        return query.getDepartment() == null || departmentRegistry.isRegistered(query.getDepartment());
+    }
+
+    /**
+     * The department table, when the ordering needs department names; {@code null} otherwise.
+     */
+    private static Root<Department> joinDepartment(CriteriaQuery<?> criteria, List<SortField> ordering) {
+        for (SortField sortField : ordering) {
+            if (sortField.getField().equals("department")) {
+                return criteria.from(Department.class);
+            }
+        }
+        return null;
+    }
+
+    private static <T> Path<T> sortPath(Root<Employee> root, Root<Department> department, String field) {
+        return department != null && field.equals("department") ? department.get("name") : root.get(field);
+    }
+
+    private Predicate[] where(CriteriaBuilder cb, Root<Employee> root, Root<Department> department, EmployeeQuery query,
+                              List<SortField> ordering, List<Object> after) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (department != null) {
+            predicates.add(cb.equal(root.get("department"), department.get("id")));
+        }
+        if (query.getDepartment() != null) {
+            predicates.add(cb.equal(root.get("department"), query.getDepartment()));
+        }
+        if (query.getEmail() != null) {
+            predicates.add(cb.equal(root.get("email"), query.getEmail()));
+        }
+        if (query.getMinSalary() != null) {
+            predicates.add(cb.ge(root.get("salary"), query.getMinSalary()));
+        }
+        if (query.getMaxSalary() != null) {
+            predicates.add(cb.le(root.get("salary"), query.getMaxSalary()));
+        }
+        if (query.getNamePrefix() != null && !query.getNamePrefix().isEmpty()) {
+            String pattern = escapeLike(query.getNamePrefix()) + "%";
+            predicates.add(cb.or(
+                    cb.like(root.get("lastName"), pattern, '\\'),
+                    cb.like(root.get("firstName"), pattern, '\\')));
+        }
+        if (query.getEmailDomain() != null && !query.getEmailDomain().isEmpty()) {
+            String pattern = "%@" + escapeLike(query.getEmailDomain().toLowerCase(Locale.ROOT));
+            predicates.add(cb.like(cb.lower(root.get("email")), pattern, '\\'));
+        }
+        if (after != null) {
+            predicates.add(seek(cb, root, department, ordering, after));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * Rows strictly after {@code after} in the given ordering:
+     * {@code (a > x) or (a = x and b > y) or (a = x and b = y and id > z)}.
+     * Nulls are treated as the lowest value, matching H2's default null ordering.
+     */
+    private static Predicate seek(CriteriaBuilder cb, Root<Employee> root, Root<Department> department,
+                                  List<SortField> ordering, List<Object> after) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (int i = 0; i < ordering.size(); i++) {
+            SortField sortField = ordering.get(i);
+            Path<Comparable<Object>> path = sortPath(root, department, sortField.getField());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) after.get(i);
+            Predicate beyond = beyond(cb, path, value, sortField.isAscending());
+            if (beyond != null) {
+                List<Predicate> alternative = new ArrayList<>(equalPrefix);
+                alternative.add(beyond);
+                alternatives.add(cb.and(alternative.toArray(new Predicate[0])));
+            }
+            equalPrefix.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    private static Predicate beyond(CriteriaBuilder cb, Path<Comparable<Object>> path, Comparable<Object> value, boolean ascending) {
+        if (ascending) {
+            return value == null ? cb.isNotNull(path) : cb.greaterThan(path, value);
+        }
+        return value == null ? null : cb.or(cb.lessThan(path, value), cb.isNull(path));
+    }
+
+    private static List<Order> orderBy(CriteriaBuilder cb, Root<Employee> root, Root<Department> department,
+                                       List<SortField> ordering) {
+        List<Order> orders = new ArrayList<>(ordering.size());
+        for (SortField sortField : ordering) {
+            Path<Object> path = sortPath(root, department, sortField.getField());
+            orders.add(sortField.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        return orders;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
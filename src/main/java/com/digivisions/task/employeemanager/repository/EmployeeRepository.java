@@ -1,11 +1,45 @@
 package com.digivisions.task.employeemanager.repository;
 
 import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
+public interface EmployeeRepository extends JpaRepository<Employee, UUID>, EmployeeQueryRepository {
+
+    /**
+     * Selects {@link EmployeeView}s, which are built from the row and never become managed entities.
+     */
+    String SELECT_VIEW = "select new com.digivisions.task.employeemanager.model.EmployeeView("
+            + "e.id, e.firstName, e.lastName, e.email, e.department, e.salary, e.version) from Employee e";
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + " order by e.id")
+    Stream<EmployeeView> streamAll();
+
+    @Query(SELECT_VIEW + " where e.id in :ids")
+    List<EmployeeView> findViewsById(@Param("ids") Collection<UUID> ids);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select e.department, e.salary from Employee e")
+    Stream<Object[]> streamDepartmentSalaries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select e.id, e.firstName, e.lastName, e.email, e.department from Employee e")
+    Stream<Object[]> streamSearchFields();
 }
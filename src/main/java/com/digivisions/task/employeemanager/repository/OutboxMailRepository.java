@@ -0,0 +1,31 @@
+package com.digivisions.task.employeemanager.repository;
+
+import com.digivisions.task.employeemanager.model.MailStatus;
+import com.digivisions.task.employeemanager.model.OutboxMail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, UUID> {
+
+    @Query("select m from OutboxMail m where m.status = :status and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<OutboxMail> findDue(@Param("status") MailStatus status, @Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(MailStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxMail m set m.status = com.digivisions.task.employeemanager.model.MailStatus.SENT,"
+            + " m.sentAt = :sentAt, m.attempts = m.attempts + 1 where m.id in :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") Instant sentAt);
+}
@@ -0,0 +1,22 @@
+package com.digivisions.task.employeemanager.repository;
+
+import com.digivisions.task.employeemanager.model.RecheckStatus;
+import com.digivisions.task.employeemanager.model.ValidationRecheck;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ValidationRecheckRepository extends JpaRepository<ValidationRecheck, UUID> {
+
+    @Query("select r from ValidationRecheck r where r.status = :status and r.nextAttemptAt <= :now order by r.nextAttemptAt")
+    List<ValidationRecheck> findDue(@Param("status") RecheckStatus status, @Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(RecheckStatus status);
+}
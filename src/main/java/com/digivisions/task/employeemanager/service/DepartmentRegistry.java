@@ -0,0 +1,117 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.Department;
+import com.digivisions.task.employeemanager.repository.DepartmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every department, read from the table once at startup and kept in memory both ways, so moving
+ * between a department's name and its key never queries the database. Names handed out are the
+ * registry's own instances, shared by every employee in that department.
+ * <p>
+ * Names are looked up by {@link #key}, ignoring case and surrounding whitespace, so {@code "it"}
+ * finds {@code "IT"}; the spelling first registered is the one kept.
+ * <p>
+ * New departments are inserted in a transaction of their own, which stays committed even if the
+ * write that introduced the department rolls back. Callers register a department before starting
+ * that write's transaction, so the insert does not hold a second pooled connection while the
+ * first waits. Verifying a department is up to the caller.
+ */
+@Slf4j
+@Service
+public class DepartmentRegistry {
+
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate registration;
+    // Keyed by key(name)
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    public DepartmentRegistry(DepartmentRepository departmentRepository, PlatformTransactionManager transactionManager) {
+        this.departmentRepository = departmentRepository;
+        this.registration = new TransactionTemplate(transactionManager);
+        this.registration.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        departmentRepository.findAll().forEach(this::remember);
+        log.info("Loaded {} departments", ids.size());
+    }
+
+    /**
+     * The form department names are compared in, shared with anything else matching them.
+     */
+    public static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isRegistered(String name) {
+        return name != null && ids.containsKey(key(name));
+    }
+
+    /**
+     * @return the department's key, or {@code null} if it is not registered
+     */
+    public Integer idOf(String name) {
+        return name == null ? null : ids.get(key(name));
+    }
+
+    /**
+     * @return the registered spelling of the department, or {@code name} if it is not registered
+     */
+    public String canonical(String name) {
+        Integer id = idOf(name);
+        return id == null ? name : nameOf(id);
+    }
+
+    /**
+     * @throws IllegalStateException if no department has the key
+     */
+    public String nameOf(int id) {
+        String name = names.get(id);
+        if (name != null) {
+            return name;
+        }
+        // Only reached for a department another instance on the same database registered since startup.
+        return departmentRepository.findById(id)
+                .map(this::remember)
+                .orElseThrow(() -> new IllegalStateException("No department with key " + id));
+    }
+
+    /**
+     * Adds the department unless it is already registered. Concurrent registrations of the same
+     * name wait for a single insert; other names are not held up.
+     *
+     * @return the department's key
+     */
+    public int register(String name) {
+        String key = key(name);
+        Integer id = ids.get(key);
+        return id != null ? id : ids.computeIfAbsent(key, absent -> insert(name.trim()));
+    }
+
+    private Integer insert(String name) {
+        Department department;
+        try {
+            department = registration.execute(status -> departmentRepository.save(new Department(name)));
+        } catch (DataIntegrityViolationException e) {
+            department = departmentRepository.findByName(name).orElseThrow(() -> e);
+        }
+        names.put(department.getId(), name);
+        log.info("Registered department {} with key {}", name, department.getId());
+        return department.getId();
+    }
+
+    private String remember(Department department) {
+        String name = department.getName();
+        ids.putIfAbsent(key(name), department.getId());
+        names.put(department.getId(), name);
+        return name;
+    }
+}
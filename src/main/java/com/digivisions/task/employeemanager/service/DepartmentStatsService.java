@@ -0,0 +1,260 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.DepartmentStats;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-department salary rollups held in memory and adjusted on every create, update and delete,
+ * so reading them costs one precomputed entry per department instead of a scan of the table.
+ * Adjustments are applied once the writing transaction commits and only mark their department
+ * stale; its stats, percentiles included, are recomputed by the next read. {@link #rebuild()}
+ * recomputes everything from the table for reconciliation.
+ */
+@Slf4j
+@Service
+public class DepartmentStatsService {
+
+    private static final Comparator<String> DEPARTMENT_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Object rebuildLock = new Object();
+
+    // Guarded by this; stats is republished as an immutable copy, or cleared while any department is stale.
+    private Map<String, Rollup> rollups = new TreeMap<>(DEPARTMENT_ORDER);
+    private final Map<String, DepartmentStats> statsByDepartment = new TreeMap<>(DEPARTMENT_ORDER);
+    private final Set<String> stale = new HashSet<>();
+    private List<Consumer<Map<String, Rollup>>> pendingReplay;
+    private volatile List<DepartmentStats> stats = List.of();
+
+    public DepartmentStatsService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public List<DepartmentStats> getStats() {
+        List<DepartmentStats> current = stats;
+        return current != null ? current : refreshStale();
+    }
+
+    public void recordCreated(Employee employee) {
+        Change added = new Change(employee.getDepartment(), employee.getSalary());
+        afterCommit(() -> apply(target -> {
+            add(target, added);
+            return List.of(added.department);
+        }));
+    }
+
+    public void recordCreated(List<Employee> employees) {
+        List<Change> added = new ArrayList<>(employees.size());
+        employees.forEach(employee -> added.add(new Change(employee.getDepartment(), employee.getSalary())));
+        afterCommit(() -> apply(target -> {
+            added.forEach(change -> add(target, change));
+            return added.stream().map(change -> change.department).distinct().collect(Collectors.toList());
+        }));
+    }
+
+    public void recordUpdated(String oldDepartment, double oldSalary, Employee employee) {
+        Change removed = new Change(oldDepartment, oldSalary);
+        Change added = new Change(employee.getDepartment(), employee.getSalary());
+        afterCommit(() -> apply(target -> {
+            remove(target, removed);
+            add(target, added);
+            return List.of(removed.department, added.department);
+        }));
+    }
+
+    public void recordDeleted(Employee employee) {
+        Change removed = new Change(employee.getDepartment(), employee.getSalary());
+        afterCommit(() -> apply(target -> {
+            remove(target, removed);
+            return List.of(removed.department);
+        }));
+    }
+
+    /**
+     * Recomputes every rollup from the table into a fresh map while writes keep adjusting the
+     * current one, then swaps it in. Changes committed after the scan began are replayed onto the
+     * fresh map first, so they are not lost; one whose transaction committed just before the scan
+     * but was reported just after it can still be counted twice.
+     */
+    public List<DepartmentStats> rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingReplay = new ArrayList<>();
+            }
+            Map<String, Rollup> rebuilt = new TreeMap<>(DEPARTMENT_ORDER);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<Object[]> salaries = employeeRepository.streamDepartmentSalaries()) {
+                        salaries.forEach(row -> rebuilt.computeIfAbsent((String) row[0], department -> new Rollup())
+                                .add((Double) row[1]));
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingReplay = null;
+                }
+                throw e;
+            }
+            int replayed;
+            synchronized (this) {
+                replayed = pendingReplay.size();
+                pendingReplay.forEach(change -> change.accept(rebuilt));
+                pendingReplay = null;
+                rollups = rebuilt;
+                statsByDepartment.clear();
+                stale.clear();
+                stale.addAll(rollups.keySet());
+                stats = null;
+            }
+            log.info("Rebuilt salary rollups for {} departments, replaying {} concurrent changes", rebuilt.size(), replayed);
+            return getStats();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Applies a change to the current rollups, keeping it for replay if a rebuild is scanning.
+     *
+     * @param change adjusts the given rollups and returns the departments it touched
+     */
+    private synchronized void apply(Function<Map<String, Rollup>, List<String>> change) {
+        stale.addAll(change.apply(rollups));
+        stats = null;
+        if (pendingReplay != null) {
+            pendingReplay.add(change::apply);
+        }
+    }
+
+    private synchronized List<DepartmentStats> refreshStale() {
+        if (stats == null) {
+            for (String department : stale) {
+                Rollup rollup = rollups.get(department);
+                if (rollup == null) {
+                    statsByDepartment.remove(department);
+                } else {
+                    statsByDepartment.put(department, rollup.toStats(department));
+                }
+            }
+            stale.clear();
+            stats = List.copyOf(statsByDepartment.values());
+        }
+        return stats;
+    }
+
+    private static void add(Map<String, Rollup> target, Change added) {
+        target.computeIfAbsent(added.department, key -> new Rollup()).add(added.salary);
+    }
+
+    private static void remove(Map<String, Rollup> target, Change removed) {
+        Rollup rollup = target.get(removed.department);
+        if (rollup != null) {
+            rollup.remove(removed.salary);
+            if (rollup.count == 0) {
+                target.remove(removed.department);
+            }
+        }
+    }
+
+    private static class Change {
+
+        private final String department;
+        private final double salary;
+
+        private Change(String department, double salary) {
+            this.department = department;
+            this.salary = salary;
+        }
+    }
+
+    /**
+     * Running totals plus a sorted multiset of salaries, which keeps min and max exact under
+     * removals and lets percentiles be read in one ordered walk.
+     */
+    private static class Rollup {
+
+        private final TreeMap<Double, Integer> salaries = new TreeMap<>();
+        private long count;
+        private double total;
+
+        void add(double salary) {
+            salaries.merge(salary, 1, Integer::sum);
+            count++;
+            total += salary;
+        }
+
+        void remove(double salary) {
+            Integer occurrences = salaries.get(salary);
+            if (occurrences == null) {
+                return;
+            }
+            if (occurrences == 1) {
+                salaries.remove(salary);
+            } else {
+                salaries.put(salary, occurrences - 1);
+            }
+            count--;
+            total -= salary;
+        }
+
+        DepartmentStats toStats(String department) {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            long seen = 0;
+            int next = 0;
+            for (Map.Entry<Double, Integer> entry : salaries.entrySet()) {
+                seen += entry.getValue();
+                while (next < PERCENTILES.length && seen >= rank(PERCENTILES[next])) {
+                    percentiles.put("p" + (int) PERCENTILES[next], entry.getKey());
+                    next++;
+                }
+            }
+            return new DepartmentStats(department, count, total, salaries.firstKey(), salaries.lastKey(), percentiles);
+        }
+
+        private long rank(double percentile) {
+            return Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        }
+    }
+}
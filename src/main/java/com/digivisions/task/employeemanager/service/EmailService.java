@@ -1,38 +1,51 @@
 package com.digivisions.task.employeemanager.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import com.digivisions.task.employeemanager.model.OutboxMail;
+import com.digivisions.task.employeemanager.repository.OutboxMailRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.util.List;
 
+/**
+ * Queues mails in the outbox as part of the caller's transaction; {@link MailDispatcher}
+ * delivers them once that transaction commits.
+ */
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboxMailRepository outboxMailRepository;
+    private final MailDispatcher mailDispatcher;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(OutboxMailRepository outboxMailRepository, MailDispatcher mailDispatcher) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailDispatcher = mailDispatcher;
     }
 
-    @Async
+    @Transactional
     public void sendEmail(String to, String subject, String body) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            e.printStackTrace();
+        outboxMailRepository.save(new OutboxMail(to, subject, body, Instant.now()));
+        dispatchAfterCommit(1);
+    }
+
+    @Transactional
+    public void sendEmails(List<OutboxMail> mails) {
+        if (mails.isEmpty()) {
+            return;
         }
+        outboxMailRepository.saveAll(mails);
+        dispatchAfterCommit(mails.size());
+    }
+
+    private void dispatchAfterCommit(int count) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mailDispatcher.enqueued(count);
+            }
+        });
     }
 }
@@ -0,0 +1,66 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.EmployeeCacheProperties;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of employees by id. Entries are detached copies, so nothing a caller does
+ * to a managed entity leaks into the cache; writers evict once their transaction commits.
+ * Hit, miss, eviction and size metrics are published under {@code cache.*} with {@code cache=employees}.
+ */
+@Component
+public class EmployeeCache {
+
+    private final Cache<UUID, Employee> cache;
+
+    public EmployeeCache(EmployeeCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .<UUID, Employee>build(), "employees");
+    }
+
+    /**
+     * Returns the cached employee, loading it on a miss; concurrent misses on one id share a
+     * single load and absent employees are not cached.
+     */
+    public Optional<Employee> get(UUID id, Function<UUID, Optional<Employee>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).map(EmployeeCache::copy).orElse(null)));
+    }
+
+    /**
+     * Evicts the employee once the current transaction commits, or immediately outside one. A
+     * load that raced the commit is discarded too, since eviction waits for in-flight loads.
+     */
+    public void evictAfterCommit(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(id);
+            }
+        });
+    }
+
+    static Employee copy(Employee employee) {
+        Employee copy = new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartment(), employee.getSalary());
+        copy.setVersion(employee.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,159 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.EmployeeChangeProperties;
+import com.digivisions.task.employeemanager.exception.ChangesExpiredException;
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import com.digivisions.task.employeemanager.model.ChangeType;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeChange;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bounded, append-only log of employee changes, so consumers can fetch what changed since the last
+ * sequence they saw instead of re-reading the table. Changes are dropped by count and age.
+ * <p>
+ * What a sequence guarantees:
+ * <ul>
+ * <li>It is assigned in memory when the writing transaction's after-commit callback runs, not by
+ * the database. Sequences follow the order commits were reported on this instance. Two concurrent
+ * commits can be reported in the opposite order to the one the database applied, so consumers
+ * should order changes to one employee by {@link EmployeeChange#getVersion() version}.</li>
+ * <li>Within one run, sequences are gap-free and a change is never appended behind a sequence
+ * already handed out, so polling with the last sequence seen misses nothing this instance
+ * committed.</li>
+ * <li>Each instance has its own log and sees only its own writes.</li>
+ * <li>Changes committed while the process stops are lost from the log, though not from the table.</li>
+ * </ul>
+ * Sequences start from the startup time in microseconds. A sequence from before a restart is
+ * therefore older than the new log and reads as expired. A sequence ahead of the new log, after
+ * the clock stepped back or a bogus value, also reads as expired. Either way the consumer
+ * resynchronises from the listing.
+ */
+@Service
+public class EmployeeChangeLog {
+
+    private final EmployeeChangeProperties properties;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this: ring of retained changes, oldest at head, with contiguous sequences.
+    private final EmployeeChange[] ring;
+    private int head;
+    private int size;
+    private long nextSequence = System.currentTimeMillis() * 1_000;
+
+    public EmployeeChangeLog(EmployeeChangeProperties properties) {
+        this.properties = properties;
+        this.ring = new EmployeeChange[properties.getCapacity()];
+    }
+
+    public void recordCreated(Employee employee) {
+        record(ChangeType.CREATED, List.of(employee));
+    }
+
+    public void recordCreated(List<Employee> employees) {
+        record(ChangeType.CREATED, employees);
+    }
+
+    public void recordUpdated(Employee employee) {
+        record(ChangeType.UPDATED, List.of(employee));
+    }
+
+    /**
+     * @param previous the employee as it was before the delete
+     */
+    public void recordDeleted(Employee previous) {
+        record(ChangeType.DELETED, List.of(previous));
+    }
+
+    /**
+     * Runs {@code listener} after every append, on the committing thread; it should only hand off.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Changes after {@code since} in order, at most {@code limit} of them.
+     *
+     * @param since last sequence already seen, or {@code null} to read from the oldest retained change
+     * @throws ChangesExpiredException if changes after {@code since} have already been dropped;
+     *                                 the consumer has to resynchronise from the listing
+     */
+    public synchronized List<EmployeeChange> since(Long since, Integer limit) {
+        int count = limit == null ? properties.getMaxPageSize() : Math.min(limit, properties.getMaxPageSize());
+        if (count < 1) {
+            throw new InvalidInputException("Page size must be positive.");
+        }
+        trim(Instant.now());
+        long first = nextSequence - size;
+        if (since != null && since < first - 1) {
+            throw new ChangesExpiredException("Changes after " + since + " are no longer retained; the oldest is " + first);
+        }
+        if (since != null && since >= nextSequence) {
+            throw new ChangesExpiredException("Sequence " + since + " is not from this log; the latest is " + (nextSequence - 1));
+        }
+        long from = since == null ? first : since + 1;
+        int offset = (int) (from - first);
+        int available = Math.min(count, size - offset);
+        List<EmployeeChange> changes = new ArrayList<>(available);
+        for (int i = 0; i < available; i++) {
+            changes.add(ring[(head + offset + i) % ring.length]);
+        }
+        return changes;
+    }
+
+    public synchronized long latestSequence() {
+        return nextSequence - 1;
+    }
+
+    private void record(ChangeType type, List<Employee> employees) {
+        List<Employee> snapshots = new ArrayList<>(employees.size());
+        employees.forEach(employee -> snapshots.add(EmployeeCache.copy(employee)));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(type, snapshots);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(type, snapshots);
+            }
+        });
+    }
+
+    private void append(ChangeType type, List<Employee> snapshots) {
+        synchronized (this) {
+            Instant now = Instant.now();
+            trim(now);
+            for (Employee snapshot : snapshots) {
+                if (size == ring.length) {
+                    drop();
+                }
+                ring[(head + size) % ring.length] = new EmployeeChange(nextSequence++, type, snapshot.getId(),
+                        snapshot.getVersion(), now, snapshot);
+                size++;
+            }
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    private void trim(Instant now) {
+        Instant cutoff = now.minus(properties.getRetention());
+        while (size > 0 && ring[head].getTimestamp().isBefore(cutoff)) {
+            drop();
+        }
+    }
+
+    private void drop() {
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        size--;
+    }
+}
@@ -0,0 +1,155 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.EmployeeChangeProperties;
+import com.digivisions.task.employeemanager.exception.ChangesExpiredException;
+import com.digivisions.task.employeemanager.model.EmployeeChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events subscriptions to the {@link EmployeeChangeLog}. Each subscriber keeps its own
+ * position in the log and is caught up on the task executor after every append; heartbeats are
+ * sent from the task executor too, never from the scheduler thread, so a slow client delays only
+ * itself. Event ids are sequences, which lets a reconnecting client resume with {@code Last-Event-ID}.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeStream {
+
+    private static final int BATCH = 500;
+
+    private final EmployeeChangeLog changeLog;
+    private final EmployeeChangeProperties properties;
+    private final Executor taskExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public EmployeeChangeStream(EmployeeChangeLog changeLog, EmployeeChangeProperties properties,
+                                @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.changeLog = changeLog;
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+        changeLog.addListener(this::changed);
+    }
+
+    /**
+     * Opens a stream of the changes after {@code since}, or of new changes only when it is {@code null}.
+     *
+     * @throws ChangesExpiredException if changes after {@code since} are no longer retained or
+     *         {@code since} is not from the current log
+     */
+    public SseEmitter subscribe(Long since) {
+        long position = since == null ? changeLog.latestSequence() : since;
+        changeLog.since(position, 1);
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, position);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::scheduleHeartbeat);
+    }
+
+    private void changed() {
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean heartbeatScheduled = new AtomicBoolean();
+        // Guarded by this.
+        private long position;
+
+        private Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        /**
+         * Queues a catch-up unless one is already queued; it reads everything appended up to when it runs.
+         */
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                taskExecutor.execute(this::catchUp);
+            }
+        }
+
+        synchronized void catchUp() {
+            scheduled.set(false);
+            try {
+                List<EmployeeChange> changes;
+                while (!(changes = changeLog.since(position, BATCH)).isEmpty()) {
+                    for (EmployeeChange change : changes) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(change.getSequence()))
+                                .name(change.getType().name())
+                                .data(change, MediaType.APPLICATION_JSON));
+                        position = change.getSequence();
+                    }
+                }
+            } catch (ChangesExpiredException e) {
+                log.info("Change stream fell behind the retained log at {}", position);
+                close(SseEmitter.event().name("EXPIRED").data(e.getMessage()));
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            }
+        }
+
+        /**
+         * Queues a heartbeat unless the last one has not been sent yet, so a stalled client holds
+         * at most one executor thread for heartbeats.
+         */
+        void scheduleHeartbeat() {
+            if (heartbeatScheduled.compareAndSet(false, true)) {
+                taskExecutor.execute(this::heartbeat);
+            }
+        }
+
+        synchronized void heartbeat() {
+            heartbeatScheduled.set(false);
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            }
+        }
+
+        private void close(SseEmitter.SseEventBuilder lastEvent) {
+            subscribers.remove(this);
+            try {
+                emitter.send(lastEvent);
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void close(Exception e) {
+            subscribers.remove(this);
+            log.debug("Change stream closed: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+}
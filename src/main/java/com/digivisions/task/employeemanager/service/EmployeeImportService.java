@@ -0,0 +1,346 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import com.digivisions.task.employeemanager.model.BulkImportResult;
+import com.digivisions.task.employeemanager.model.BulkImportResult.RowResult;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.OutboxMail;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import com.digivisions.task.employeemanager.validation.ValidationOutcome;
+import com.digivisions.task.employeemanager.validation.ValidationRecheckQueue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Bulk onboarding. Rows are checked locally, validated remotely with one lookup per distinct
+ * email and department, then inserted in chunks, each chunk one transaction flushed as JDBC
+ * batches together with its welcome mails. Departments new to the {@link DepartmentRegistry} are
+ * registered ahead of the chunk that introduces them.
+ */
+@Slf4j
+@Service
+public class EmployeeImportService {
+
+    private static final List<String> CSV_COLUMNS = Arrays.asList("firstname", "lastname", "email", "department", "salary");
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeValidator employeeValidator;
+    private final ValidationRecheckQueue recheckQueue;
+    private final EmailService emailService;
+    private final DepartmentStatsService departmentStatsService;
+    private final DepartmentRegistry departmentRegistry;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${employee.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${employee.import.max-rows:100000}")
+    private int maxRows = 100_000;
+
+    public EmployeeImportService(EmployeeRepository employeeRepository, EmployeeValidator employeeValidator,
+                                 ValidationRecheckQueue recheckQueue, EmailService emailService,
+                                 DepartmentStatsService departmentStatsService, DepartmentRegistry departmentRegistry,
+                                 EmployeeSearchIndex employeeSearchIndex,
+                                 EmployeeChangeLog changeLog, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.employeeValidator = employeeValidator;
+        this.recheckQueue = recheckQueue;
+        this.emailService = emailService;
+        this.departmentStatsService = departmentStatsService;
+        this.departmentRegistry = departmentRegistry;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Accepts a JSON array of employees or newline-delimited JSON objects.
+     */
+    public BulkImportResult importJson(InputStream input) {
+        List<ImportRow> rows = new ArrayList<>();
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(input)) {
+            while (employees.hasNextValue()) {
+                checkRowLimit(rows.size());
+                rows.add(new ImportRow(rows.size() + 1, employees.nextValue()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidInputException("Malformed JSON at row " + (rows.size() + 1) + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new InvalidInputException("Could not read import payload: " + e.getMessage());
+        }
+        return importRows(rows);
+    }
+
+    /**
+     * Accepts CSV with a header row naming the firstName, lastName, email, department and salary columns.
+     */
+    public BulkImportResult importCsv(InputStream input) {
+        List<ImportRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return new BulkImportResult(new ArrayList<>());
+            }
+            int[] columns = csvColumns(parseCsvLine(header));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                checkRowLimit(rows.size());
+                rows.add(csvRow(rows.size() + 1, parseCsvLine(line), columns));
+            }
+        } catch (IOException e) {
+            throw new InvalidInputException("Could not read import payload: " + e.getMessage());
+        }
+        return importRows(rows);
+    }
+
+    BulkImportResult importRows(List<ImportRow> rows) {
+        List<ImportRow> candidates = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.error == null) {
+                row.error = localError(row.employee);
+            }
+            if (row.error == null) {
+                candidates.add(row);
+            }
+        }
+        candidates = rejectDuplicateEmails(candidates);
+
+        List<Employee> employees = new ArrayList<>(candidates.size());
+        candidates.forEach(row -> employees.add(row.employee));
+        List<ValidationOutcome> outcomes = employeeValidator.validateAll(employees);
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            ImportRow row = candidates.get(i);
+            row.outcome = outcomes.get(i);
+            if (row.outcome.isRejected()) {
+                row.error = row.outcome.getRejection();
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            persist(accepted.subList(from, Math.min(accepted.size(), from + chunkSize)));
+        }
+
+        List<RowResult> results = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            results.add(row.error == null
+                    ? RowResult.created(row.number, row.employee.getId())
+                    : RowResult.rejected(row.number, row.error));
+        }
+        return new BulkImportResult(results);
+    }
+
+    private void persist(List<ImportRow> chunk) {
+        List<Employee> employees = new ArrayList<>(chunk.size());
+        chunk.forEach(row -> {
+            // A rolled-back attempt leaves the id and version assigned, which would make saveAll merge a copy
+            row.employee.setId(null);
+            row.employee.setVersion(null);
+            employees.add(row.employee);
+        });
+        try {
+            employees.stream().map(Employee::getDepartment).distinct().forEach(departmentRegistry::register);
+            employees.forEach(employee -> employee.setDepartment(departmentRegistry.canonical(employee.getDepartment())));
+            transactionTemplate.executeWithoutResult(status -> {
+                employeeRepository.saveAll(employees);
+                Instant now = Instant.now();
+                List<OutboxMail> mails = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                    mails.add(new OutboxMail(row.employee.getEmail(), "Employee Created",
+                            "Welcome, " + row.employee.getFirstName() + "!", now));
+                    recheckQueue.schedule(row.employee.getId(), row.outcome.getDeferredChecks());
+                }
+                emailService.sendEmails(mails);
+                departmentStatsService.recordCreated(employees);
+                employeeSearchIndex.indexCreated(employees);
+                changeLog.recordCreated(employees);
+            });
+        } catch (DataAccessException e) {
+            if (chunk.size() > 1) {
+                // Typically an email inserted concurrently; saving row by row fails only that row.
+                log.warn("Bulk import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                chunk.forEach(row -> persist(List.of(row)));
+                return;
+            }
+            log.warn("Bulk import row {} failed: {}", chunk.get(0).number, e.getMessage());
+            chunk.forEach(row -> {
+                row.employee.setId(null);
+                row.employee.setVersion(null);
+                row.error = "Could not be saved: " + e.getMostSpecificCause().getMessage();
+            });
+        }
+    }
+
+    /**
+     * Rejects rows whose email repeats an earlier row or belongs to an existing employee, before
+     * the unique email index can fail their whole chunk. Existing emails are looked up a chunk at a time.
+     */
+    private List<ImportRow> rejectDuplicateEmails(List<ImportRow> candidates) {
+        Set<String> emails = new LinkedHashSet<>();
+        List<ImportRow> unique = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (emails.add(row.employee.getEmail())) {
+                unique.add(row);
+            } else {
+                row.error = "Duplicate email in import";
+            }
+        }
+        List<String> distinct = new ArrayList<>(emails);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            existing.addAll(employeeRepository.findExistingEmails(distinct.subList(from, Math.min(distinct.size(), from + chunkSize))));
+        }
+        unique.removeIf(row -> {
+            if (!existing.contains(row.employee.getEmail())) {
+                return false;
+            }
+            row.error = "Email already exists";
+            return true;
+        });
+        return unique;
+    }
+
+    private static String localError(Employee employee) {
+        if (employee == null) {
+            return "Row is empty";
+        } else if (isBlank(employee.getFirstName())) {
+            return "First name is required";
+        } else if (isBlank(employee.getLastName())) {
+            return "Last name is required";
+        } else if (isBlank(employee.getEmail())) {
+            return "Email is required";
+        } else if (isBlank(employee.getDepartment())) {
+            return "Department is required";
+        } else if (employee.getSalary() < 1500) {
+            return "Salary must be greater than or equal to 1,500.";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void checkRowLimit(int rows) {
+        if (rows >= maxRows) {
+            throw new InvalidInputException("Bulk import is limited to " + maxRows + " rows");
+        }
+    }
+
+    private static int[] csvColumns(List<String> header) {
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            int column = CSV_COLUMNS.indexOf(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column >= 0) {
+                columns[column] = i;
+            }
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < 0) {
+                throw new InvalidInputException("CSV header is missing the " + CSV_COLUMNS.get(i) + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static ImportRow csvRow(int number, List<String> fields, int[] columns) {
+        Employee employee = new Employee();
+        employee.setFirstName(field(fields, columns[0]));
+        employee.setLastName(field(fields, columns[1]));
+        employee.setEmail(field(fields, columns[2]));
+        employee.setDepartment(field(fields, columns[3]));
+        ImportRow row = new ImportRow(number, employee);
+        String salary = field(fields, columns[4]);
+        try {
+            employee.setSalary(salary == null ? 0 : Double.parseDouble(salary));
+        } catch (NumberFormatException e) {
+            row.error = "Invalid salary: " + salary;
+        }
+        return row;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV record, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static final class ImportRow {
+        private final int number;
+        private final Employee employee;
+        private String error;
+        private ValidationOutcome outcome;
+
+        ImportRow(int number, Employee employee) {
+            this.number = number;
+            this.employee = employee;
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over employee first and last names, emails and departments for
+ * type-ahead search. Every word of those fields is a sorted term, so a typed prefix is a range of
+ * terms; names and departments also match with one typo. Changes from the service and
+ * the bulk import are applied once their transaction commits and {@link #rebuild()} reloads
+ * everything from the table.
+ */
+@Slf4j
+@Service
+public class EmployeeSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Share of a term's score earned by a prefix or fuzzy match instead of the whole word.
+    private static final double PREFIX_MATCH = 0.5;
+    private static final double FUZZY_MATCH = 0.4;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final String TYPO_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Upper bound on the prefix and typo matches collected for the most selective query word,
+     * which keeps one-letter prefixes cheap. Whole-word matches are never cut, and with several
+     * words only documents matching all of them count towards the bound.
+     */
+    @Value("${employee.search.max-candidates:2000}")
+    private int maxCandidates = 2000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock. While a rebuild runs, changes are also recorded for replay onto its result.
+    private Index index = new Index();
+    private List<Consumer<Index>> replay;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Ids of the best matching employees, best first. Every word of the query must match some
+     * field; a word scores by the field it matched (names over email over department) and by how
+     * closely (whole word, then prefix, then typo).
+     */
+    public List<UUID> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            String narrowest = words.get(0);
+            int fewest = Integer.MAX_VALUE;
+            for (String word : words) {
+                int matches = index.estimate(word, fewest);
+                if (matches < fewest) {
+                    narrowest = word;
+                    fewest = matches;
+                }
+            }
+            List<String> others = new ArrayList<>(words);
+            others.remove(narrowest);
+            List<Set<String>> otherTypos = new ArrayList<>(others.size());
+            others.forEach(word -> otherTypos.add(fuzzy(word)));
+            Map<Integer, Double> scores = index.match(narrowest, maxCandidates, limit, document -> {
+                for (int i = 0; i < others.size(); i++) {
+                    if (index.score(document, others.get(i), otherTypos.get(i)) == 0) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            for (int i = 0; i < others.size(); i++) {
+                String word = others.get(i);
+                Set<String> typos = otherTypos.get(i);
+                scores.replaceAll((document, score) -> score + index.score(document, word, typos));
+            }
+            return index.top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexCreated(Employee employee) {
+        indexUpdated(employee);
+    }
+
+    public void indexCreated(List<Employee> employees) {
+        List<Searchable> entries = new ArrayList<>(employees.size());
+        employees.forEach(employee -> entries.add(new Searchable(employee)));
+        afterCommit(target -> entries.forEach(target::put));
+    }
+
+    public void indexUpdated(Employee employee) {
+        Searchable entry = new Searchable(employee);
+        afterCommit(target -> target.put(entry));
+    }
+
+    public void indexDeleted(UUID id) {
+        afterCommit(target -> target.remove(id));
+    }
+
+    /**
+     * Replaces the index with one built from the table. Searches keep using the old index until the
+     * new one is complete, and changes committed meanwhile are replayed onto it.
+     */
+    public synchronized int rebuild() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index rebuilt = new Index();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = employeeRepository.streamSearchFields()) {
+                    rows.forEach(row -> rebuilt.put(new Searchable((UUID) row[0], (String) row[1], (String) row[2],
+                            (String) row[3], (String) row[4])));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            replay.forEach(change -> change.accept(rebuilt));
+            index = rebuilt;
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Rebuilt search index over {} employees", rebuilt.documents.size());
+        return rebuilt.documents.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    private void afterCommit(Consumer<Index> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> fuzzy(String word) {
+        return word.length() < FUZZY_MIN_LENGTH ? Set.of() : typos(word);
+    }
+
+    /**
+     * Every string one typo away from {@code word}: a letter or digit dropped, inserted or replaced,
+     * or two neighbours swapped. Appending is left out, since matching by prefix already covers it.
+     */
+    static Set<String> typos(String word) {
+        Set<String> typos = new LinkedHashSet<>();
+        StringBuilder typo = new StringBuilder(word.length() + 1);
+        for (int i = 0; i < word.length(); i++) {
+            typos.add(typo.append(word, 0, i).append(word, i + 1, word.length()).toString());
+            typo.setLength(0);
+            if (i + 1 < word.length()) {
+                typos.add(typo.append(word, 0, i).append(word.charAt(i + 1)).append(word.charAt(i))
+                        .append(word, i + 2, word.length()).toString());
+                typo.setLength(0);
+            }
+            for (int c = 0; c < TYPO_ALPHABET.length(); c++) {
+                char replacement = TYPO_ALPHABET.charAt(c);
+                typos.add(typo.append(word, 0, i).append(replacement).append(word, i, word.length()).toString());
+                typo.setLength(0);
+                typos.add(typo.append(word, 0, i).append(replacement).append(word, i + 1, word.length()).toString());
+                typo.setLength(0);
+            }
+        }
+        typos.remove(word);
+        return typos;
+    }
+
+    private enum Field {
+
+        FIRST_NAME(3, true),
+        LAST_NAME(3, true),
+        EMAIL(2, false),
+        DEPARTMENT(1, true);
+
+        private final double weight;
+        private final boolean fuzzy;
+        private final char tag;
+
+        Field(double weight, boolean fuzzy) {
+            this.weight = weight;
+            this.fuzzy = fuzzy;
+            this.tag = (char) ('0' + ordinal());
+        }
+
+        // Terms are keyed by field tag plus word, so each field's words form their own sorted range.
+        String key(String word) {
+            return tag + word;
+        }
+    }
+
+    /**
+     * The searchable fields of one employee, copied so later changes to the entity do not leak in.
+     */
+    private static class Searchable {
+
+        private final UUID id;
+        private final String[] values = new String[Field.values().length];
+
+        private Searchable(Employee employee) {
+            this(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                    employee.getDepartment());
+        }
+
+        private Searchable(UUID id, String firstName, String lastName, String email, String department) {
+            this.id = id;
+            values[Field.FIRST_NAME.ordinal()] = firstName;
+            values[Field.LAST_NAME.ordinal()] = lastName;
+            values[Field.EMAIL.ordinal()] = email;
+            values[Field.DEPARTMENT.ordinal()] = department;
+        }
+    }
+
+    /**
+     * Documents are numbered in insertion order; an update removes the old document and adds a new
+     * one, so every postings list stays sorted by appending. Removed documents leave a gap until
+     * they make up half of the numbers, when the index is renumbered in place, which keeps the order.
+     */
+    private static class Index {
+
+        private static final int COMPACT_MIN_REMOVED = 1024;
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        // The same postings by hash, for the many single-term probes of the typo search.
+        private final Map<String, Postings> termLookup = new HashMap<>();
+        private final Map<UUID, Integer> documents = new HashMap<>();
+        private final List<UUID> ids = new ArrayList<>();
+        private final List<Postings[]> postingsByDocument = new ArrayList<>();
+        private int removed;
+
+        void put(Searchable entry) {
+            remove(entry.id);
+            int document = ids.size();
+            Set<Postings> postings = new LinkedHashSet<>();
+            for (Field field : Field.values()) {
+                for (String word : words(entry.values[field.ordinal()])) {
+                    postings.add(termLookup.computeIfAbsent(field.key(word), term -> {
+                        Postings created = new Postings(term);
+                        terms.put(term, created);
+                        return created;
+                    }));
+                }
+            }
+            postings.forEach(list -> list.add(document));
+            ids.add(entry.id);
+            postingsByDocument.add(postings.toArray(new Postings[0]));
+            documents.put(entry.id, document);
+        }
+
+        void remove(UUID id) {
+            Integer document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (Postings postings : postingsByDocument.get(document)) {
+                postings.remove(document);
+                if (postings.size == 0) {
+                    terms.remove(postings.term);
+                    termLookup.remove(postings.term);
+                }
+            }
+            ids.set(document, null);
+            postingsByDocument.set(document, null);
+            removed++;
+            if (removed >= COMPACT_MIN_REMOVED && removed * 2 >= ids.size()) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            int[] renumbered = new int[ids.size()];
+            int next = 0;
+            for (int document = 0; document < ids.size(); document++) {
+                UUID id = ids.get(document);
+                if (id == null) {
+                    continue;
+                }
+                renumbered[document] = next;
+                ids.set(next, id);
+                postingsByDocument.set(next, postingsByDocument.get(document));
+                documents.put(id, next);
+                next++;
+            }
+            ids.subList(next, ids.size()).clear();
+            postingsByDocument.subList(next, postingsByDocument.size()).clear();
+            terms.values().forEach(postings -> postings.renumber(renumbered));
+            removed = 0;
+        }
+
+        /**
+         * Documents containing the word or a word it prefixes, counted up to {@code atMost}.
+         */
+        int estimate(String word, int atMost) {
+            int count = 0;
+            for (Field field : Field.values()) {
+                String from = field.key(word);
+                for (Postings postings : terms.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+                    count += postings.size;
+                    if (count >= atMost) {
+                        return atMost;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * The document's best score for {@code word}, 0 if it does not match. Checked against the
+         * document's own terms, so the cost does not depend on how many documents the word matches.
+         */
+        double score(int document, String word, Set<String> typos) {
+            double best = 0;
+            for (Postings postings : postingsByDocument.get(document)) {
+                best = Math.max(best, score(postings.term, word, typos));
+            }
+            return best;
+        }
+
+        private static double score(String term, String word, Set<String> typos) {
+            Field field = Field.values()[term.charAt(0) - '0'];
+            int length = term.length() - 1;
+            if (!term.startsWith(word, 1)) {
+                return field.fuzzy && typos.contains(term.substring(1)) ? field.weight * FUZZY_MATCH : 0;
+            }
+            if (length == word.length()) {
+                return field.weight;
+            }
+            return field.weight * (PREFIX_MATCH + (1 - PREFIX_MATCH) * word.length() / length);
+        }
+
+        /**
+         * Best score per {@code accepted} document for one query word: every whole-word match, then
+         * prefixes up to {@code maxCandidates} documents, then, while fewer than {@code limit} documents matched,
+         * whole words one typo away. The typos are hash probes, so their cost does not grow with the index.
+         */
+        Map<Integer, Double> match(String word, int maxCandidates, int limit, IntPredicate accepted) {
+            Map<Integer, Double> matches = new HashMap<>();
+            for (Field field : Field.values()) {
+                collect(matches, termLookup.get(field.key(word)), field.weight, Integer.MAX_VALUE, accepted);
+            }
+            for (Field field : Field.values()) {
+                String from = field.key(word);
+                for (Postings postings : terms.subMap(from, false, from + Character.MAX_VALUE, false).values()) {
+                    if (matches.size() >= maxCandidates) {
+                        return matches;
+                    }
+                    double closeness = (double) word.length() / (postings.term.length() - 1);
+                    collect(matches, postings, field.weight * (PREFIX_MATCH + (1 - PREFIX_MATCH) * closeness),
+                            maxCandidates, accepted);
+                }
+            }
+            if (matches.size() >= limit || word.length() < FUZZY_MIN_LENGTH) {
+                return matches;
+            }
+            Set<String> typos = typos(word);
+            for (Field field : Field.values()) {
+                if (!field.fuzzy) {
+                    continue;
+                }
+                for (String typo : typos) {
+                    collect(matches, termLookup.get(field.key(typo)), field.weight * FUZZY_MATCH, maxCandidates, accepted);
+                }
+            }
+            return matches;
+        }
+
+        List<UUID> top(Map<Integer, Double> scores, int limit) {
+            Comparator<Map.Entry<Integer, Double>> byScore = Map.Entry.<Integer, Double>comparingByValue()
+                    .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed());
+            PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(limit + 1, byScore);
+            for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                best.add(score);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<UUID> top = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                top.add(ids.get(best.poll().getKey()));
+            }
+            Collections.reverse(top);
+            return top;
+        }
+
+        private static void collect(Map<Integer, Double> matches, Postings postings, double score, int maxCandidates,
+                                    IntPredicate accepted) {
+            if (postings == null) {
+                return;
+            }
+            for (int i = 0; i < postings.size && matches.size() < maxCandidates; i++) {
+                int document = postings.documents[i];
+                if (accepted.test(document)) {
+                    matches.merge(document, score, Math::max);
+                }
+            }
+        }
+    }
+
+    /**
+     * Document numbers containing one term, ascending.
+     */
+    private static class Postings {
+
+        private final String term;
+        private int[] documents = new int[2];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        /**
+         * Applies a renumbering that keeps the order of the documents still present.
+         */
+        void renumber(int[] renumbered) {
+            for (int i = 0; i < size; i++) {
+                documents[i] = renumbered[documents[i]];
+            }
+            if (documents.length > 2 * size + 2) {
+                documents = Arrays.copyOf(documents, Math.max(2, size));
+            }
+        }
+
+        void remove(int document) {
+            int i = Arrays.binarySearch(documents, 0, size, document);
+            if (i >= 0) {
+                System.arraycopy(documents, i + 1, documents, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+}
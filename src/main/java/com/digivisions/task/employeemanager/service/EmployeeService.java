@@ -3,72 +3,385 @@ package com.digivisions.task.employeemanager.service;
 import com.digivisions.task.employeemanager.exception.EmployeeNotFoundException;
 import com.digivisions.task.employeemanager.exception.InvalidInputException;
 import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeePage;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeQuery.SortField;
+import com.digivisions.task.employeemanager.model.EmployeeView;
 import com.digivisions.task.employeemanager.repository.EmployeeRepository;
-import com.digivisions.task.employeemanager.validation.DepartmentVerificationService;
-import com.digivisions.task.employeemanager.validation.EmailValidationService;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import com.digivisions.task.employeemanager.validation.ValidationCheck;
+import com.digivisions.task.employeemanager.validation.ValidationRecheckQueue;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeService {
 
+    private static final char CURSOR_SEPARATOR = '\u001F';
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("firstName", "lastName", "email", "department", "salary");
+
     private final EmployeeRepository employeeRepository;
     private final EmailService emailService;
-    private final EmailValidationService validateEmail;
-    private final DepartmentVerificationService validateDepartment;
+    private final EmployeeValidator employeeValidator;
+    private final ValidationRecheckQueue recheckQueue;
+    private final DepartmentStatsService departmentStatsService;
+    private final DepartmentRegistry departmentRegistry;
+    private final EmployeeCache employeeCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor createExecutor;
+
+    @Value("${employee.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${employee.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${employee.create.async:true}")
+    private boolean asyncCreate = true;
 
     @Autowired
     public EmployeeService(EmployeeRepository employeeRepository, EmailService emailService
-            , EmailValidationService validateEmail, DepartmentVerificationService validateDepartment) {
+            , EmployeeValidator employeeValidator, ValidationRecheckQueue recheckQueue
+            , DepartmentStatsService departmentStatsService, DepartmentRegistry departmentRegistry, EmployeeCache employeeCache
+            , EmployeeSearchIndex employeeSearchIndex, EmployeeChangeLog changeLog, PlatformTransactionManager transactionManager, @Qualifier("createExecutor") Executor createExecutor) {
         this.employeeRepository = employeeRepository;
         this.emailService = emailService;
-        this.validateEmail = validateEmail;
-        this.validateDepartment = validateDepartment;
+        this.employeeValidator = employeeValidator;
+        this.recheckQueue = recheckQueue;
+        this.departmentStatsService = departmentStatsService;
+        this.departmentRegistry = departmentRegistry;
+        this.employeeCache = employeeCache;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createExecutor = createExecutor;
     }
 
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    /**
+     * Filtered, sorted listing with keyset pagination: the cursor carries the ordering values of the
+     * last row returned and the next page is read with a seek predicate on them, so deep pages cost
+     * the same as the first. Rows are read-only {@link EmployeeView}s rather than managed entities.
+     */
+    @Transactional(readOnly = true)
+    public EmployeePage<EmployeeView> findEmployees(EmployeeQuery query) {
+        int size = pageSize(query.getLimit());
+        List<SortField> ordering = query.getOrdering();
+        List<EmployeeView> employees = employeeRepository.search(query, decodeCursor(query.getCursor(), ordering), size + 1);
+        if (employees.size() <= size) {
+            return new EmployeePage<>(employees, null);
+        }
+        List<EmployeeView> page = employees.subList(0, size);
+        EmployeeView last = page.get(size - 1);
+        List<Object> values = new ArrayList<>(ordering.size());
+        ordering.forEach(sortField -> values.add(fieldValue(last, sortField.getField())));
+        return new EmployeePage<>(page, encodeCursor(values));
+    }
+
+    /**
+     * Same as {@link #findEmployees} but returns only the requested fields of each employee.
+     */
+    @Transactional(readOnly = true)
+    public EmployeePage<Map<String, Object>> findEmployeeFields(EmployeeQuery query) {
+        int size = pageSize(query.getLimit());
+        List<SortField> ordering = query.getOrdering();
+        List<String> fields = query.getFields();
+        fields.forEach(EmployeeQuery::checkField);
+        List<Map<String, Object>> rows = employeeRepository.searchFields(query, fields,
+                decodeCursor(query.getCursor(), ordering), size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Map<String, Object> last = rows.get(size - 1);
+            List<Object> values = new ArrayList<>(ordering.size());
+            ordering.forEach(sortField -> values.add(last.get(sortField.getField())));
+            nextCursor = encodeCursor(values);
+        }
+        rows.forEach(row -> row.keySet().retainAll(fields));
+        return new EmployeePage<>(rows, nextCursor);
+    }
+
+    /**
+     * Type-ahead search over names, emails and departments, best match first. Ranked by
+     * {@link EmployeeSearchIndex}; only the matching rows are read.
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeView> searchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidInputException("Search query is required.");
+        }
+        List<UUID> ids = employeeSearchIndex.search(query, pageSize(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, EmployeeView> found = new HashMap<>();
+        employeeRepository.findViewsById(ids).forEach(employee -> found.put(employee.getId(), employee));
+        List<EmployeeView> employees = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            // Rows deleted since the index was read are left out.
+            EmployeeView employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    private int pageSize(Integer limit) {
+        int size = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        if (size < 1) {
+            throw new InvalidInputException("Page size must be positive.");
+        }
+        return size;
+    }
+
+    /**
+     * Streams every employee to the consumer inside one read-only transaction. Rows arrive as
+     * {@link EmployeeView}s, so the persistence context stays empty however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<EmployeeView> consumer) {
+        try (Stream<EmployeeView> employees = employeeRepository.streamAll()) {
+            employees.forEach(consumer);
+        }
+    }
+
+    /**
+     * Served from {@link EmployeeCache}; the returned instance is a shared detached copy and must not be modified.
+     */
     public Employee getEmployeeById(UUID id) {
-        return employeeRepository.findById(id)
+        return employeeCache.get(id, employeeRepository::findById)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " + id));
     }
 
-    @Transactional
+    /**
+     * Validates and saves the employee. Neither the remote validators nor a new department's
+     * registration run inside the transaction that inserts the employee.
+     */
     public Employee createEmployee(Employee employee) {
+        checkSalary(employee);
+        return save(employee, employeeValidator.validate(employee));
+    }
+
+    /**
+     * {@link #createEmployee} that does not hold the calling thread while the remote validators
+     * run; the employee is saved on the bounded create executor once they pass, and the future
+     * fails with a {@link java.util.concurrent.RejectedExecutionException} if that is full. With
+     * {@code employee.create.async=false} it runs synchronously and returns a completed future.
+     */
+    public CompletableFuture<Employee> createEmployeeAsync(Employee employee) {
+        if (!asyncCreate) {
+            return CompletableFuture.completedFuture(createEmployee(employee));
+        }
+        checkSalary(employee);
+        return employeeValidator.validateAsync(employee)
+                .thenApplyAsync(deferredChecks -> save(employee, deferredChecks), createExecutor);
+    }
+
+    private static void checkSalary(Employee employee) {
         if (employee.getSalary() < 1500) {
             throw new InvalidInputException("Salary must be greater than or equal to 1,500.");
-        } else if (!validateEmail.isValidEmail(employee.getEmail())) {
-            throw new InvalidInputException("Invalid email address");
-        } else if (!validateDepartment.isValidDepartment(employee.getDepartment())) {
-            throw new InvalidInputException("Invalid department");
         }
+    }
+
+    private Employee save(Employee employee, Set<ValidationCheck> deferredChecks) {
+        departmentRegistry.register(employee.getDepartment());
+        employee.setDepartment(departmentRegistry.canonical(employee.getDepartment()));
+        return transactionTemplate.execute(status -> insert(employee, deferredChecks));
+    }
+
+    private Employee insert(Employee employee, Set<ValidationCheck> deferredChecks) {
         Employee savedEmployee = employeeRepository.save(employee);
+        recheckQueue.schedule(savedEmployee.getId(), deferredChecks);
+        departmentStatsService.recordCreated(savedEmployee);
+        employeeSearchIndex.indexCreated(savedEmployee);
+        changeLog.recordCreated(savedEmployee);
         emailService.sendEmail(savedEmployee.getEmail(), "Employee Created", "Welcome, " + savedEmployee.getFirstName() + "!");
         return savedEmployee;
     }
 
-    @Transactional
-    public Employee updateEmployee(UUID id, Employee updatedEmployee) {
-        Employee employee = getEmployeeById(id);
-        employee.setFirstName(updatedEmployee.getFirstName());
-        employee.setLastName(updatedEmployee.getLastName());
-        employee.setEmail(updatedEmployee.getEmail());
-        employee.setDepartment(updatedEmployee.getDepartment());
-        employee.setSalary(updatedEmployee.getSalary());
+    /**
+     * Replaces every writable field; see {@link #patchEmployee}.
+     */
+    public Employee updateEmployee(UUID id, Employee updatedEmployee, Long expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("firstName", updatedEmployee.getFirstName());
+        changes.put("lastName", updatedEmployee.getLastName());
+        changes.put("email", updatedEmployee.getEmail());
+        changes.put("department", updatedEmployee.getDepartment());
+        changes.put("salary", updatedEmployee.getSalary());
+        return patchEmployee(id, changes, expectedVersion);
+    }
+
+    /**
+     * Writes only the given fields in a single {@code UPDATE}, without loading the employee first.
+     * A department that is not registered yet is verified and registered before the write's
+     * transaction begins.
+     *
+     * @param expectedVersion version the caller last saw, or {@code null} to update unconditionally
+     * @throws OptimisticLockingFailureException if the employee exists but its version is not {@code expectedVersion}
+     */
+    public Employee patchEmployee(UUID id, Map<String, Object> changes, Long expectedVersion) {
+        Map<String, Object> columns = patchColumns(changes);
+        String department = (String) columns.get("department");
+        if (department != null) {
+            if (!departmentRegistry.isRegistered(department)) {
+                employeeValidator.checkDepartment(department);
+                departmentRegistry.register(department);
+            }
+            columns.put("department", departmentRegistry.canonical(department));
+        }
+        return transactionTemplate.execute(status -> update(id, columns, expectedVersion));
+    }
+
+    private Employee update(UUID id, Map<String, Object> columns, Long expectedVersion) {
+        Employee previous = employeeRepository.updateReturningPrevious(id, columns, expectedVersion)
+                .orElseThrow(() -> expectedVersion != null && employeeRepository.existsById(id)
+                        ? new OptimisticLockingFailureException("Employee " + id + " is no longer at version " + expectedVersion)
+                        : new EmployeeNotFoundException("Employee not found with ID: " + id));
+        Employee employee = new Employee(id,
+                (String) columns.getOrDefault("firstName", previous.getFirstName()),
+                (String) columns.getOrDefault("lastName", previous.getLastName()),
+                (String) columns.getOrDefault("email", previous.getEmail()),
+                (String) columns.getOrDefault("department", previous.getDepartment()),
+                (Double) columns.getOrDefault("salary", previous.getSalary()));
+        employee.setVersion(previous.getVersion() + 1);
+        departmentStatsService.recordUpdated(previous.getDepartment(), previous.getSalary(), employee);
+        employeeSearchIndex.indexUpdated(employee);
+        changeLog.recordUpdated(employee);
+        employeeCache.evictAfterCommit(id);
         emailService.sendEmail(employee.getEmail(), "Employee Updated", "Your details have been updated.");
         return employee;
     }
 
+    private static Map<String, Object> patchColumns(Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            throw new InvalidInputException("No fields to update.");
+        }
+        Map<String, Object> columns = new LinkedHashMap<>();
+        changes.forEach((field, value) -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidInputException("Field cannot be updated: " + field);
+            } else if (value == null) {
+                throw new InvalidInputException("Field cannot be null: " + field);
+            } else if (field.equals("salary")) {
+                if (!(value instanceof Number)) {
+                    throw new InvalidInputException("Salary must be a number.");
+                }
+                double salary = ((Number) value).doubleValue();
+                if (salary < 1500) {
+                    throw new InvalidInputException("Salary must be greater than or equal to 1,500.");
+                }
+                columns.put(field, salary);
+            } else if (!(value instanceof String)) {
+                throw new InvalidInputException("Field must be a string: " + field);
+            } else {
+                columns.put(field, value);
+            }
+        });
+        return columns;
+    }
+
+    /**
+     * Deletes with a single statement; its row count decides between success and not found.
+     */
     @Transactional
     public void deleteEmployee(UUID id) {
-        Employee employee = getEmployeeById(id);
-        employeeRepository.delete(employee);
+        Employee employee = employeeRepository.deleteByIdReturning(id)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with ID: " + id));
+        departmentStatsService.recordDeleted(employee);
+        employeeSearchIndex.indexDeleted(id);
+        changeLog.recordDeleted(employee);
+        employeeCache.evictAfterCommit(id);
     }
-}
 
+    private static Object fieldValue(EmployeeView employee, String field) {
+        switch (field) {
+            case "id":
+                return employee.getId();
+            case "firstName":
+                return employee.getFirstName();
+            case "lastName":
+                return employee.getLastName();
+            case "email":
+                return employee.getEmail();
+            case "department":
+                return employee.getDepartment();
+            case "salary":
+                return employee.getSalary();
+            default:
+                throw new InvalidInputException("Unknown field: " + field);
+        }
+    }
+
+    static String encodeCursor(List<Object> values) {
+        StringBuilder cursor = new StringBuilder();
+        for (Object value : values) {
+            if (cursor.length() > 0) {
+                cursor.append(CURSOR_SEPARATOR);
+            }
+            cursor.append(value == null ? "n" : "v" + value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static List<Object> decodeCursor(String cursor, List<SortField> ordering) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(String.valueOf(CURSOR_SEPARATOR), -1);
+            if (parts.length != ordering.size()) {
+                throw new InvalidInputException("Invalid cursor");
+            }
+            List<Object> values = new ArrayList<>(parts.length);
+            for (int i = 0; i < parts.length; i++) {
+                values.add(parseCursorValue(parts[i], EmployeeQuery.FIELDS.get(ordering.get(i).getField())));
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid cursor");
+        }
+    }
+
+    private static Object parseCursorValue(String part, Class<?> type) {
+        if (part.equals("n")) {
+            return null;
+        } else if (!part.startsWith("v")) {
+            throw new IllegalArgumentException(part);
+        }
+        String value = part.substring(1);
+        if (type == UUID.class) {
+            return UUID.fromString(value);
+        } else if (type == Double.class) {
+            return Double.valueOf(value);
+        }
+        return value;
+    }
+}
@@ -1,5 +1,10 @@
 package com.digivisions.task.employeemanager.service;
 
+import com.digivisions.task.employeemanager.config.ExternalDependencyGuard;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -8,9 +13,19 @@ public class ExternalServiceClient {
 
     private static final String WEATHER_API_URL = "https://api.weatherapi.com/v1/current.json?key=YOUR_API_KEY&q=London";
 
+    private final RestTemplate restTemplate;
+    private final ExternalDependencyGuard guard;
+
+    public ExternalServiceClient(@Qualifier("externalRestTemplate") RestTemplate restTemplate,
+                                 CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                 MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.guard = new ExternalDependencyGuard("weather", circuitBreakerRegistry, bulkheadRegistry,
+                meterRegistry);
+    }
+
     public String getWeather() {
-        RestTemplate restTemplate = new RestTemplate();
-        String response = restTemplate.getForObject(WEATHER_API_URL, String.class);
+        String response = guard.call(() -> restTemplate.getForObject(WEATHER_API_URL, String.class));
         return response;
     }
 }
@@ -0,0 +1,89 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.IdempotencyProperties;
+import com.digivisions.task.employeemanager.exception.IdempotencyKeyReusedException;
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Results of requests carrying an {@code Idempotency-Key}, kept for a bounded time. The first
+ * request with a key runs; a retry gets the stored result without running again, and a duplicate
+ * arriving while the first is still running shares its pending result. Failures are not kept, so
+ * a failed request can be retried with the same key. Hit and miss metrics are published under
+ * {@code cache.*} with {@code cache=idempotency}.
+ */
+@Component
+public class IdempotencyStore {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentMap<String, Execution> executions;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        Cache<String, Execution> cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .<String, Execution>build(), "idempotency");
+        this.executions = cache.asMap();
+    }
+
+    /**
+     * Runs {@code action} unless {@code key} has been seen, and returns the result of the request that first used it.
+     *
+     * @param request what identifies the request, compared by {@code equals} to detect a key reused for another one
+     * @throws IdempotencyKeyReusedException if the key was first used with a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Object request, Supplier<CompletableFuture<T>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidInputException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+        Execution execution = new Execution(request);
+        Execution first = executions.putIfAbsent(key, execution);
+        if (first != null) {
+            if (!first.request.equals(request)) {
+                throw new IdempotencyKeyReusedException("Idempotency key was already used for a different request.");
+            }
+            return (CompletableFuture<T>) first.result;
+        }
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            forget(key, execution, e);
+            throw e;
+        }
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                forget(key, execution, error);
+            } else {
+                execution.result.complete(value);
+            }
+        });
+        return (CompletableFuture<T>) execution.result;
+    }
+
+    private void forget(String key, Execution execution, Throwable error) {
+        executions.remove(key, execution);
+        execution.result.completeExceptionally(error);
+    }
+
+    private static final class Execution {
+
+        private final Object request;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Execution(Object request) {
+            this.request = request;
+        }
+    }
+}
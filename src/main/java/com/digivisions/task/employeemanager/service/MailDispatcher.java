@@ -0,0 +1,226 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.MailOutboxProperties;
+import com.digivisions.task.employeemanager.model.MailStatus;
+import com.digivisions.task.employeemanager.model.OutboxMail;
+import com.digivisions.task.employeemanager.repository.OutboxMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the mail outbox. A single drain thread reads due mails in batches and hands them to the
+ * mail workers in chunks; each chunk goes out over one SMTP connection. Failed mails are retried
+ * with exponential backoff until {@code employee.mail.max-attempts} is reached.
+ * <p>
+ * {@code mail.outbox.pending} is kept in memory: raised as mails are queued, lowered as they are
+ * sent or given up, and reset from the table on every poll to absorb other instances' work.
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender mailSender;
+    private final Executor mailExecutor;
+    private final MailOutboxProperties properties;
+    private final ExecutorService drainThread = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("mail-drain-"));
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer sendTimer;
+    private final Timer failedSendTimer;
+    private final Timer deliveryDelay;
+    private final Counter retriedMails;
+    private final Counter failedMails;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    public MailDispatcher(OutboxMailRepository outboxMailRepository, JavaMailSender mailSender,
+                          @Qualifier("mailExecutor") Executor mailExecutor, MailOutboxProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSender = mailSender;
+        this.mailExecutor = mailExecutor;
+        this.properties = properties;
+        this.sendTimer = meterRegistry.timer("mail.send", "outcome", "success");
+        this.failedSendTimer = meterRegistry.timer("mail.send", "outcome", "failure");
+        this.deliveryDelay = meterRegistry.timer("mail.delivery.delay");
+        this.retriedMails = meterRegistry.counter("mail.failures", "final", "false");
+        this.failedMails = meterRegistry.counter("mail.failures", "final", "true");
+        Gauge.builder("mail.outbox.pending", pending, count -> Math.max(0, count.get()))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts mails just committed to the outbox and wakes the drain for them.
+     */
+    public void enqueued(int count) {
+        pending.addAndGet(count);
+        wakeUp();
+    }
+
+    /**
+     * Starts a drain unless one is running, in which case that drain makes another pass.
+     */
+    public void wakeUp() {
+        rerun.set(true);
+        if (draining.compareAndSet(false, true)) {
+            drainThread.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.mail.poll-interval:PT15S}")
+    public void poll() {
+        pending.set(outboxMailRepository.countByStatus(MailStatus.PENDING));
+        wakeUp();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainThread.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            while (rerun.getAndSet(false)) {
+                int drained;
+                do {
+                    drained = drainBatch();
+                } while (drained == properties.getBatchSize());
+            }
+        } catch (RuntimeException e) {
+            log.error("Mail outbox drain failed, will retry on next poll", e);
+        } finally {
+            draining.set(false);
+        }
+        if (rerun.get() && draining.compareAndSet(false, true)) {
+            drainThread.execute(this::drain);
+        }
+    }
+
+    int drainBatch() {
+        List<OutboxMail> due = outboxMailRepository.findDue(MailStatus.PENDING, Instant.now(),
+                PageRequest.of(0, properties.getBatchSize()));
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += properties.getConnectionBatchSize()) {
+            List<OutboxMail> chunk = due.subList(from, Math.min(due.size(), from + properties.getConnectionBatchSize()));
+            chunks.add(CompletableFuture.runAsync(() -> send(chunk), mailExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        return due.size();
+    }
+
+    void send(List<OutboxMail> chunk) {
+        Map<MimeMessage, OutboxMail> messages = new LinkedHashMap<>();
+        List<OutboxMail> failed = new ArrayList<>();
+        Instant now = Instant.now();
+        for (OutboxMail mail : chunk) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                fail(mail, e, now, true);
+                failed.add(mail);
+            }
+        }
+        Map<Object, Exception> failures = Collections.emptyMap();
+        MailException sendFailure = null;
+        if (!messages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failures = e.getFailedMessages();
+                sendFailure = e;
+            } catch (MailException e) {
+                sendFailure = e;
+            }
+            (sendFailure == null ? sendTimer : failedSendTimer).record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        now = Instant.now();
+        List<UUID> sent = new ArrayList<>();
+        for (Map.Entry<MimeMessage, OutboxMail> entry : messages.entrySet()) {
+            OutboxMail mail = entry.getValue();
+            Exception failure = failures.isEmpty() ? sendFailure : failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(mail.getId());
+                deliveryDelay.record(Duration.between(mail.getCreatedAt(), now));
+            } else {
+                fail(mail, failure, now, false);
+                failed.add(mail);
+            }
+        }
+        if (!sent.isEmpty()) {
+            outboxMailRepository.markSent(sent, now);
+            pending.addAndGet(-sent.size());
+        }
+        if (!failed.isEmpty()) {
+            outboxMailRepository.saveAll(failed);
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setFrom(fromEmail);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody(), true);
+        return message;
+    }
+
+    private void fail(OutboxMail mail, Exception failure, Instant now, boolean permanent) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(truncate(String.valueOf(failure.getMessage())));
+        if (permanent || attempts >= properties.getMaxAttempts()) {
+            mail.setStatus(MailStatus.FAILED);
+            pending.decrementAndGet();
+            failedMails.increment();
+            log.warn("Giving up mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, failure.getMessage());
+        } else {
+            mail.setNextAttemptAt(now.plus(backoff(attempts)));
+            retriedMails.increment();
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -1,5 +1,10 @@
 package com.digivisions.task.employeemanager.validation;
 
+import com.digivisions.task.employeemanager.config.ExternalDependencyGuard;
+import com.digivisions.task.employeemanager.config.ValidationCacheProperties;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -7,15 +12,26 @@ import org.springframework.web.client.RestTemplate;
 public class DepartmentVerificationService {
 
     private final RestTemplate restTemplate;
+    private final VerificationCache cache;
+    private final ExternalDependencyGuard guard;
 
-    public DepartmentVerificationService(RestTemplate restTemplate) {
+    public DepartmentVerificationService(RestTemplate restTemplate, ValidationCacheProperties cacheProperties,
+                                         CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                         MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.guard = new ExternalDependencyGuard("departmentVerification", circuitBreakerRegistry, bulkheadRegistry,
+                meterRegistry);
+        this.cache = new VerificationCache("departmentVerification", cacheProperties, meterRegistry, this::callVerificationApi);
     }
 
     public boolean isValidDepartment(String department) {
+        return cache.isValid(department);
+    }
+
+    private boolean callVerificationApi(String department) {
         // Call to the third-party department verification API
         String apiUrl = "https://api.departmentverification.com/validate?department=" + department;
-        DepartmentVerificationResponse response = restTemplate.getForObject(apiUrl, DepartmentVerificationResponse.class);
+        DepartmentVerificationResponse response = guard.call(() -> restTemplate.getForObject(apiUrl, DepartmentVerificationResponse.class));
         return response != null && response.isValid();
     }
 }
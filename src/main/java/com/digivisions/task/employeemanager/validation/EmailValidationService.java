@@ -1,5 +1,10 @@
 package com.digivisions.task.employeemanager.validation;
 
+import com.digivisions.task.employeemanager.config.ExternalDependencyGuard;
+import com.digivisions.task.employeemanager.config.ValidationCacheProperties;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -7,15 +12,26 @@ import org.springframework.web.client.RestTemplate;
 public class EmailValidationService {
 
     private final RestTemplate restTemplate;
+    private final VerificationCache cache;
+    private final ExternalDependencyGuard guard;
 
-    public EmailValidationService(RestTemplate restTemplate) {
+    public EmailValidationService(RestTemplate restTemplate, ValidationCacheProperties cacheProperties,
+                                  CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                  MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.guard = new ExternalDependencyGuard("emailValidation", circuitBreakerRegistry, bulkheadRegistry,
+                meterRegistry);
+        this.cache = new VerificationCache("emailValidation", cacheProperties, meterRegistry, this::callValidationApi);
     }
 
     public boolean isValidEmail(String email) {
+        return cache.isValid(email);
+    }
+
+    private boolean callValidationApi(String email) {
         // Replace with your actual email validation API URL
         String apiUrl = "https://api.emailvalidation.com/validate?email=" + email;
-        EmailValidationResponse response = restTemplate.getForObject(apiUrl, EmailValidationResponse.class);
+        EmailValidationResponse response = guard.call(() -> restTemplate.getForObject(apiUrl, EmailValidationResponse.class));
         return response != null && response.isValid();
     }
-}
\ No newline at end of file
+}
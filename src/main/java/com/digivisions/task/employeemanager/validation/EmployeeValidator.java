@@ -0,0 +1,311 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.ResilienceProperties;
+import com.digivisions.task.employeemanager.config.ResilienceProperties.DegradedPolicy;
+import com.digivisions.task.employeemanager.config.ValidationProperties;
+import com.digivisions.task.employeemanager.exception.ExternalServiceException;
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import com.digivisions.task.employeemanager.model.Employee;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the email and department checks concurrently. The step takes as long as the slower call,
+ * is cut off after the configured budget, and fails as soon as either check rejects the employee.
+ * Each check is first put to the {@link LocalValidator}; only those it cannot decide reach the
+ * remote validators, and a local rejection fails the request before any call is made.
+ * When a validator is unavailable the {@link DegradedPolicy} decides between failing the request
+ * and accepting it with that check deferred.
+ */
+@Component
+public class EmployeeValidator {
+
+    private final EmailValidationService emailValidationService;
+    private final DepartmentVerificationService departmentVerificationService;
+    private final LocalValidator localValidator;
+    private final Executor executor;
+    private final ValidationProperties properties;
+    private final ResilienceProperties resilienceProperties;
+
+    public EmployeeValidator(EmailValidationService emailValidationService,
+                             DepartmentVerificationService departmentVerificationService,
+                             LocalValidator localValidator,
+                             @Qualifier("validationExecutor") Executor executor,
+                             ValidationProperties properties,
+                             ResilienceProperties resilienceProperties) {
+        this.emailValidationService = emailValidationService;
+        this.departmentVerificationService = departmentVerificationService;
+        this.localValidator = localValidator;
+        this.executor = executor;
+        this.properties = properties;
+        this.resilienceProperties = resilienceProperties;
+    }
+
+    /**
+     * @return the checks that could not be completed and were accepted under the degraded policy
+     */
+    public Set<ValidationCheck> validate(Employee employee) {
+        return await(submitAll(employee));
+    }
+
+    /**
+     * Same as {@link #validate} without blocking the caller: completes once both checks finish,
+     * either rejects, or the budget runs out.
+     */
+    public CompletableFuture<Set<ValidationCheck>> validateAsync(Employee employee) {
+        Map<ValidationCheck, CompletableFuture<ValidationCheck>> checks = submitAll(employee);
+        return settle(checks)
+                .orTimeout(properties.getBudget().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, ex) -> {
+                    try {
+                        if (ex == null) {
+                            return deferred(checks);
+                        }
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        if (!(cause instanceof TimeoutException)) {
+                            throw unwrap(cause);
+                        }
+                        if (acceptsWhenDegraded()) {
+                            return deferred(checks);
+                        }
+                        throw new ExternalServiceException("External validation did not finish within " + properties.getBudget());
+                    } finally {
+                        checks.values().forEach(check -> check.cancel(true));
+                    }
+                });
+    }
+
+    /**
+     * Validates a batch, looking up each distinct email and department once. Lookups run on the
+     * validation executor a pool-sized window at a time, each bounded by its own call deadline.
+     */
+    public List<ValidationOutcome> validateAll(List<Employee> employees) {
+        Map<ValidationCheck, Map<String, Boolean>> verdicts = new EnumMap<>(ValidationCheck.class);
+        for (ValidationCheck check : ValidationCheck.values()) {
+            Map<String, Employee> distinct = new LinkedHashMap<>();
+            employees.forEach(employee -> distinct.putIfAbsent(key(check, employee), employee));
+            verdicts.put(check, lookup(check, distinct));
+        }
+        List<ValidationOutcome> outcomes = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            outcomes.add(outcome(employee, verdicts));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Verifies a department that is about to be registered by a write that skips {@link #validate}.
+     *
+     * @throws InvalidInputException if the department is rejected
+     */
+    public void checkDepartment(String department) {
+        Boolean valid = localValidator.decide(ValidationCheck.DEPARTMENT, department);
+        if (valid == null) {
+            valid = departmentVerificationService.isValidDepartment(department);
+        }
+        if (!valid) {
+            throw new InvalidInputException(ValidationCheck.DEPARTMENT.getRejection());
+        }
+    }
+
+    /**
+     * Runs a single check against the remote validator on the calling thread. Used to re-check
+     * deferred checks, which the local tier would now pass: the value was registered on save.
+     */
+    public boolean passes(ValidationCheck check, Employee employee) {
+        switch (check) {
+            case EMAIL:
+                return emailValidationService.isValidEmail(employee.getEmail());
+            case DEPARTMENT:
+                return departmentVerificationService.isValidDepartment(employee.getDepartment());
+            default:
+                throw new IllegalArgumentException("Unknown check " + check);
+        }
+    }
+
+    private static String key(ValidationCheck check, Employee employee) {
+        return check == ValidationCheck.EMAIL ? employee.getEmail() : employee.getDepartment();
+    }
+
+    /**
+     * @return verdict per key; {@code null} when the validator was unavailable for it
+     */
+    private Map<String, Boolean> lookup(ValidationCheck check, Map<String, Employee> distinct) {
+        Map<String, Boolean> verdicts = new HashMap<>();
+        List<Map.Entry<String, Employee>> keys = new ArrayList<>(distinct.entrySet());
+        int window = Math.max(1, properties.getThreads());
+        for (int from = 0; from < keys.size(); from += window) {
+            Map<String, CompletableFuture<Boolean>> lookups = new LinkedHashMap<>();
+            for (Map.Entry<String, Employee> key : keys.subList(from, Math.min(keys.size(), from + window))) {
+                lookups.put(key.getKey(), lookupAsync(check, key.getValue()));
+            }
+            lookups.forEach((key, lookup) -> {
+                try {
+                    verdicts.put(key, lookup.join());
+                } catch (CompletionException | CancellationException e) {
+                    verdicts.put(key, null);
+                }
+            });
+        }
+        return verdicts;
+    }
+
+    private CompletableFuture<Boolean> lookupAsync(ValidationCheck check, Employee employee) {
+        Boolean local = localValidator.decide(check, key(check, employee));
+        if (local != null) {
+            return CompletableFuture.completedFuture(local);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> passes(check, employee), executor);
+        } catch (RejectedExecutionException e) {
+            try {
+                return CompletableFuture.completedFuture(passes(check, employee));
+            } catch (RuntimeException unavailable) {
+                return CompletableFuture.failedFuture(unavailable);
+            }
+        }
+    }
+
+    private ValidationOutcome outcome(Employee employee, Map<ValidationCheck, Map<String, Boolean>> verdicts) {
+        Set<ValidationCheck> deferred = EnumSet.noneOf(ValidationCheck.class);
+        for (ValidationCheck check : ValidationCheck.values()) {
+            Boolean verdict = verdicts.get(check).get(key(check, employee));
+            if (verdict == null) {
+                if (!acceptsWhenDegraded()) {
+                    return ValidationOutcome.rejected("External validation unavailable");
+                }
+                deferred.add(check);
+            } else if (!verdict) {
+                return ValidationOutcome.rejected(check.getRejection());
+            }
+        }
+        return ValidationOutcome.passed(deferred);
+    }
+
+    private CompletableFuture<ValidationCheck> submit(ValidationCheck check, Employee employee) {
+        CompletableFuture<ValidationCheck> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                if (!passes(check, employee)) {
+                    throw new InvalidInputException(check.getRejection());
+                }
+                return null;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(new ExternalServiceException("Validation capacity exhausted", e));
+        }
+        if (!acceptsWhenDegraded()) {
+            return future;
+        }
+        return future.exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof ExternalServiceException) {
+                return check;
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    private Map<ValidationCheck, CompletableFuture<ValidationCheck>> submitAll(Employee employee) {
+        Map<ValidationCheck, Boolean> local = new EnumMap<>(ValidationCheck.class);
+        for (ValidationCheck check : ValidationCheck.values()) {
+            Boolean verdict = localValidator.decide(check, key(check, employee));
+            if (Boolean.FALSE.equals(verdict)) {
+                return Map.of(check, CompletableFuture.failedFuture(new InvalidInputException(check.getRejection())));
+            }
+            local.put(check, verdict);
+        }
+        Map<ValidationCheck, CompletableFuture<ValidationCheck>> checks = new EnumMap<>(ValidationCheck.class);
+        local.forEach((check, verdict) -> checks.put(check,
+                verdict != null ? CompletableFuture.completedFuture(null) : submit(check, employee)));
+        return checks;
+    }
+
+    /**
+     * Completes when every check has, or exceptionally as soon as one fails.
+     */
+    private static CompletableFuture<Void> settle(Map<ValidationCheck, CompletableFuture<ValidationCheck>> checks) {
+        CompletableFuture<Void> outcome = new CompletableFuture<>();
+        checks.values().forEach(check -> check.whenComplete((ignored, ex) -> failFast(outcome, ex)));
+        CompletableFuture.allOf(checks.values().toArray(new CompletableFuture[0])).thenRun(() -> outcome.complete(null));
+        return outcome;
+    }
+
+    private Set<ValidationCheck> await(Map<ValidationCheck, CompletableFuture<ValidationCheck>> checks) {
+        CompletableFuture<Void> outcome = settle(checks);
+        try {
+            outcome.get(properties.getBudget().toMillis(), TimeUnit.MILLISECONDS);
+            return deferred(checks);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            if (acceptsWhenDegraded()) {
+                return deferred(checks);
+            }
+            throw new ExternalServiceException("External validation did not finish within " + properties.getBudget());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceException("External validation interrupted", e);
+        } finally {
+            checks.values().forEach(check -> check.cancel(true));
+        }
+    }
+
+    /**
+     * Checks still running or accepted as degraded; a check that rejected late still fails the request.
+     */
+    private static Set<ValidationCheck> deferred(Map<ValidationCheck, CompletableFuture<ValidationCheck>> checks) {
+        Set<ValidationCheck> deferred = EnumSet.noneOf(ValidationCheck.class);
+        checks.forEach((check, future) -> {
+            if (!future.isDone()) {
+                deferred.add(check);
+                return;
+            }
+            try {
+                if (future.join() != null) {
+                    deferred.add(check);
+                }
+            } catch (CompletionException e) {
+                throw unwrap(e.getCause());
+            }
+        });
+        return deferred;
+    }
+
+    private boolean acceptsWhenDegraded() {
+        return resilienceProperties.getDegradedPolicy() == DegradedPolicy.ACCEPT_AND_RECHECK;
+    }
+
+    private static void failFast(CompletableFuture<Void> outcome, Throwable ex) {
+        if (ex != null) {
+            outcome.completeExceptionally(ex);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof InvalidInputException || cause instanceof ExternalServiceException) {
+            return (RuntimeException) cause;
+        }
+        return new ExternalServiceException("External validation failed: " + cause.getMessage(), cause);
+    }
+}
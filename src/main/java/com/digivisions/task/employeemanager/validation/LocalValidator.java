@@ -0,0 +1,142 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.LocalValidationProperties;
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that need no network, consulted before the remote validators. A malformed address or
+ * one on a denied domain is rejected, an address on an allowed domain is accepted, and so is a
+ * department already in the {@link DepartmentRegistry} or listed in the departments file; anything
+ * else is left to the remote call. The file is re-read when it changes, so departments can be
+ * added without a restart.
+ * <p>
+ * Each decision taken here is counted as {@code validation.remote.avoided}, by check and verdict.
+ */
+@Slf4j
+@Component
+public class LocalValidator {
+
+    /**
+     * The common shape: local part, then dot-separated domain labels ending in an alphabetic
+     * top-level domain. Valid addresses outside it, such as punycode top-level domains or quoted
+     * local parts, are left to the remote validator.
+     */
+    private static final Pattern EMAIL = Pattern.compile(
+            "[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+(\\.[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
+                    + "@([A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?\\.)+[A-Za-z]{2,63}");
+
+    private static final int MAX_EMAIL_LENGTH = 254;
+
+    private final Set<String> deniedDomains;
+    private final Set<String> allowedDomains;
+    private final Path departmentsFile;
+    private final DepartmentRegistry departmentRegistry;
+    private final MeterRegistry meterRegistry;
+    private volatile Set<String> departments = Set.of();
+    private volatile FileTime departmentsModified;
+
+    public LocalValidator(LocalValidationProperties properties, DepartmentRegistry departmentRegistry,
+                          MeterRegistry meterRegistry) {
+        this.deniedDomains = normalize(properties.getDeniedDomains());
+        this.allowedDomains = normalize(properties.getAllowedDomains());
+        this.departmentsFile = properties.getDepartmentsFile().isBlank() ? null : Path.of(properties.getDepartmentsFile());
+        this.departmentRegistry = departmentRegistry;
+        this.meterRegistry = meterRegistry;
+        reloadDepartments();
+    }
+
+    /**
+     * @return {@code true} or {@code false} when the check is decided locally, {@code null} when it
+     * needs the remote validator
+     */
+    public Boolean decide(ValidationCheck check, String value) {
+        Boolean verdict;
+        switch (check) {
+            case EMAIL:
+                verdict = email(value);
+                break;
+            case DEPARTMENT:
+                verdict = departmentRegistry.isRegistered(value)
+                        || value != null && departments.contains(DepartmentRegistry.key(value)) ? Boolean.TRUE : null;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown check " + check);
+        }
+        if (verdict != null) {
+            meterRegistry.counter("validation.remote.avoided", "check", check.name().toLowerCase(Locale.ROOT),
+                    "verdict", verdict ? "passed" : "rejected").increment();
+        }
+        return verdict;
+    }
+
+    /**
+     * Re-reads the departments file if it changed since the last load. A missing or unreadable
+     * file keeps the registry as it was.
+     */
+    @Scheduled(fixedDelayString = "${employee.validation.local.departments-reload-interval:PT30S}")
+    public void reloadDepartments() {
+        if (departmentsFile == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(departmentsFile);
+            if (modified.equals(departmentsModified)) {
+                return;
+            }
+            Set<String> loaded = new HashSet<>();
+            for (String line : Files.readAllLines(departmentsFile)) {
+                String department = line.trim();
+                if (!department.isEmpty() && !department.startsWith("#")) {
+                    loaded.add(DepartmentRegistry.key(department));
+                }
+            }
+            departments = Set.copyOf(loaded);
+            departmentsModified = modified;
+            log.info("Loaded {} departments from {}", loaded.size(), departmentsFile);
+        } catch (IOException e) {
+            log.warn("Could not load departments from {}, keeping {} known: {}", departmentsFile, departments.size(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Only rejects what cannot be an address at all: too long, no local part or domain, a domain
+     * without a dot, or whitespace.
+     */
+    private Boolean email(String email) {
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        if (at <= 0 || at == email.length() - 1 || email.length() > MAX_EMAIL_LENGTH
+                || email.indexOf('.', at) < 0 || email.chars().anyMatch(Character::isWhitespace)) {
+            return Boolean.FALSE;
+        }
+        String domain = email.substring(at + 1).toLowerCase(Locale.ROOT);
+        if (deniedDomains.contains(domain)) {
+            return Boolean.FALSE;
+        }
+        return allowedDomains.contains(domain) && EMAIL.matcher(email).matches() ? Boolean.TRUE : null;
+    }
+
+    private static Set<String> normalize(Collection<String> values) {
+        Set<String> normalized = new HashSet<>();
+        for (String value : values) {
+            if (!value.isBlank()) {
+                normalized.add(value.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+}
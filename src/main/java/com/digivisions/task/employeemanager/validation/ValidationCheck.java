@@ -0,0 +1,16 @@
+package com.digivisions.task.employeemanager.validation;
+
+public enum ValidationCheck {
+    EMAIL("Invalid email address"),
+    DEPARTMENT("Invalid department");
+
+    private final String rejection;
+
+    ValidationCheck(String rejection) {
+        this.rejection = rejection;
+    }
+
+    public String getRejection() {
+        return rejection;
+    }
+}
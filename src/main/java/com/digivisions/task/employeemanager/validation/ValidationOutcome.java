@@ -0,0 +1,35 @@
+package com.digivisions.task.employeemanager.validation;
+
+import java.util.Collections;
+import java.util.Set;
+
+public final class ValidationOutcome {
+
+    private final String rejection;
+    private final Set<ValidationCheck> deferredChecks;
+
+    private ValidationOutcome(String rejection, Set<ValidationCheck> deferredChecks) {
+        this.rejection = rejection;
+        this.deferredChecks = deferredChecks;
+    }
+
+    public static ValidationOutcome passed(Set<ValidationCheck> deferredChecks) {
+        return new ValidationOutcome(null, deferredChecks);
+    }
+
+    public static ValidationOutcome rejected(String rejection) {
+        return new ValidationOutcome(rejection, Collections.emptySet());
+    }
+
+    public boolean isRejected() {
+        return rejection != null;
+    }
+
+    public String getRejection() {
+        return rejection;
+    }
+
+    public Set<ValidationCheck> getDeferredChecks() {
+        return deferredChecks;
+    }
+}
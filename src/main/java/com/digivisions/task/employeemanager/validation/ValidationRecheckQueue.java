@@ -0,0 +1,136 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.ResilienceProperties;
+import com.digivisions.task.employeemanager.exception.ExternalServiceException;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.RecheckStatus;
+import com.digivisions.task.employeemanager.model.ValidationRecheck;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.repository.ValidationRecheckRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Employees accepted while a validator was unavailable. Their deferred checks are stored as
+ * {@link ValidationRecheck} rows in the transaction that saves the employee, so a restart loses
+ * none, and a background job re-runs them until they complete or the attempt limit is reached.
+ * A failed check marks the row rejected and an exhausted one abandoned; both stay in the table.
+ * <p>
+ * Outcomes are counted as {@code validation.recheck.outcomes} by {@code outcome}.
+ */
+@Slf4j
+@Component
+public class ValidationRecheckQueue {
+
+    private final ValidationRecheckRepository recheckRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeValidator employeeValidator;
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${employee.resilience.recheck-interval:PT1M}")
+    private Duration recheckInterval = Duration.ofMinutes(1);
+
+    public ValidationRecheckQueue(ValidationRecheckRepository recheckRepository, EmployeeRepository employeeRepository,
+                                  EmployeeValidator employeeValidator, ResilienceProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.recheckRepository = recheckRepository;
+        this.employeeRepository = employeeRepository;
+        this.employeeValidator = employeeValidator;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the checks in the caller's transaction, so they are rolled back with the employee.
+     */
+    public void schedule(UUID employeeId, Set<ValidationCheck> checks) {
+        if (checks.isEmpty()) {
+            return;
+        }
+        recheckRepository.save(new ValidationRecheck(employeeId, checks, Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${employee.resilience.recheck-interval:PT1M}")
+    public void recheck() {
+        // Rows retried in this run are moved past the cut-off; a row read twice was not updated,
+        // so the run stops instead of holding the scheduler thread until it is.
+        Instant cutoff = Instant.now();
+        Set<UUID> seen = new HashSet<>();
+        List<ValidationRecheck> due;
+        do {
+            due = recheckRepository.findDue(RecheckStatus.PENDING, cutoff,
+                    PageRequest.of(0, properties.getRecheckBatchSize()));
+            for (ValidationRecheck recheck : due) {
+                if (!seen.add(recheck.getId())) {
+                    log.warn("Recheck {} is still due after being processed, ending this run", recheck.getId());
+                    return;
+                }
+                recheck(recheck);
+            }
+        } while (due.size() == properties.getRecheckBatchSize());
+    }
+
+    private void recheck(ValidationRecheck recheck) {
+        Optional<Employee> employee = employeeRepository.findById(recheck.getEmployeeId());
+        if (employee.isEmpty()) {
+            recheckRepository.delete(recheck);
+            return;
+        }
+        Set<ValidationCheck> remaining = EnumSet.noneOf(ValidationCheck.class);
+        StringJoiner rejections = new StringJoiner("; ");
+        for (ValidationCheck check : recheck.getChecks()) {
+            try {
+                if (!employeeValidator.passes(check, employee.get())) {
+                    rejections.add(check.getRejection());
+                }
+            } catch (ExternalServiceException e) {
+                remaining.add(check);
+            }
+        }
+        int attempts = recheck.getAttempts() + 1;
+        recheck.setAttempts(attempts);
+        if (rejections.length() > 0) {
+            log.warn("Employee {} failed its deferred checks: {}", recheck.getEmployeeId(), rejections);
+            recheck.setStatus(RecheckStatus.REJECTED);
+            recheck.setLastError(rejections.toString());
+            finish(recheck, "rejected");
+        } else if (remaining.isEmpty()) {
+            recheckRepository.delete(recheck);
+            outcome("passed");
+        } else if (attempts >= properties.getRecheckMaxAttempts()) {
+            log.warn("Giving up deferred {} checks of employee {} after {} attempts", remaining, recheck.getEmployeeId(), attempts);
+            recheck.setChecks(remaining);
+            recheck.setStatus(RecheckStatus.ABANDONED);
+            recheck.setLastError("Validator unavailable");
+            finish(recheck, "abandoned");
+        } else {
+            recheck.setChecks(remaining);
+            recheck.setNextAttemptAt(Instant.now().plus(recheckInterval));
+            finish(recheck, "retried");
+        }
+    }
+
+    private void finish(ValidationRecheck recheck, String outcome) {
+        recheckRepository.save(recheck);
+        outcome(outcome);
+    }
+
+    private void outcome(String outcome) {
+        meterRegistry.counter("validation.recheck.outcomes", "outcome", outcome).increment();
+    }
+}
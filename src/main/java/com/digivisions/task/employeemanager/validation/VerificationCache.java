@@ -0,0 +1,65 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.ValidationCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of remote verification outcomes. Valid and invalid answers expire on separate
+ * TTLs, concurrent lookups of the same key share a single remote call, and failed calls are
+ * never cached. Hit, miss, eviction and size metrics are published under {@code cache.*}, tagged
+ * with the cache's name.
+ */
+public class VerificationCache {
+
+    private final Predicate<String> verifier;
+    private final LoadingCache<String, Boolean> cache;
+
+    public VerificationCache(String name, ValidationCacheProperties properties, MeterRegistry meterRegistry,
+                             Predicate<String> verifier) {
+        this.verifier = verifier;
+        long positiveTtl = properties.getPositiveTtl().toNanos();
+        long negativeTtl = properties.getNegativeTtl().toNanos();
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String key, Boolean valid, long currentTime) {
+                        return valid ? positiveTtl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Boolean valid, long currentTime, long currentDuration) {
+                        return valid ? positiveTtl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Boolean valid, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(verifier::test), name);
+    }
+
+    public boolean isValid(String key) {
+        if (key == null) {
+            return verifier.test(null);
+        }
+        return cache.get(key);
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,36 @@
+-- Schema for the file-backed database of the prod profile; the entities are validated against it.
+
+create table employee (
+    id         binary(16)   not null,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    department varchar(255),
+    salary     double       not null,
+    version    bigint,
+    primary key (id)
+);
+
+-- Exact lookups by email, and the email uniqueness rule
+create unique index idx_employee_email on employee (email);
+-- Department filter, department stats and department-ordered listings
+create index idx_employee_department on employee (department);
+-- Last-name ordering and name-prefix search
+create index idx_employee_last_name on employee (last_name);
+
+create table outbox_mail (
+    id              binary(16)    not null,
+    recipient       varchar(255)  not null,
+    subject         varchar(255)  not null,
+    body            clob          not null,
+    status          varchar(16)   not null,
+    attempts        integer       not null,
+    created_at      timestamp     not null,
+    next_attempt_at timestamp     not null,
+    sent_at         timestamp,
+    last_error      varchar(1000),
+    primary key (id)
+);
+
+-- Due-mail poll: status = 'PENDING' and next_attempt_at <= now
+create index idx_outbox_mail_due on outbox_mail (status, next_attempt_at);
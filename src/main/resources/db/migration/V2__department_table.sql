@@ -0,0 +1,24 @@
+-- Departments move to their own table; employees keep the integer key instead of the name.
+
+create table department (
+    id   integer      generated by default as identity,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+-- Name to key, and the uniqueness rule
+create unique index idx_department_name on department (name);
+
+insert into department (name)
+select distinct department from employee where department is not null order by department;
+
+alter table employee add column department_id integer;
+
+update employee e set department_id = (select d.id from department d where d.name = e.department);
+
+drop index idx_employee_department;
+alter table employee drop column department;
+
+-- Department filter, department stats and department-ordered listings
+create index idx_employee_department on employee (department_id);
+alter table employee add constraint fk_employee_department foreign key (department_id) references department (id);
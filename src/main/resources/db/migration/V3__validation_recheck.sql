@@ -0,0 +1,16 @@
+-- Deferred validator checks, written with the employee instead of held in memory.
+
+create table validation_recheck (
+    id              binary(16)    not null,
+    employee_id     binary(16)    not null,
+    checks          varchar(64)   not null,
+    status          varchar(16)   not null,
+    attempts        integer       not null,
+    created_at      timestamp     not null,
+    next_attempt_at timestamp     not null,
+    last_error      varchar(1000),
+    primary key (id)
+);
+
+-- Due-recheck poll: status = 'PENDING' and next_attempt_at <= now
+create index idx_validation_recheck_due on validation_recheck (status, next_attempt_at);
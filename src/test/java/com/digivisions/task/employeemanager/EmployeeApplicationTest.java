@@ -1,7 +1,20 @@
 package com.digivisions.task.employeemanager;
 
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
 import static org.junit.jupiter.api.Assertions.*;
 
+@SpringBootTest
 class EmployeeApplicationTest {
 
-}
\ No newline at end of file
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoads() {
+        assertNotNull(context);
+    }
+}
@@ -0,0 +1,161 @@
+package com.digivisions.task.employeemanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServlet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class AdmissionFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setEndpoints(List.of(new AdmissionProperties.Endpoint("create", "POST", "/api/employees", 0.5, 1)));
+        properties.setMaxInFlight(1);
+        properties.setTrustedProxies(Set.of("127.0.0.1"));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionFilter(properties, new RateLimiter(properties), meterRegistry, new ObjectMapper());
+    }
+
+    @Test
+    void testRateLimitedPerClient() throws Exception {
+        assertEquals(200, post("batch").getStatus());
+
+        MockHttpServletResponse limited = post("batch");
+        assertEquals(429, limited.getStatus());
+        assertEquals("2", limited.getHeader("Retry-After"));
+        assertEquals("application/problem+json", limited.getContentType());
+        assertEquals(200, post("interactive").getStatus());
+
+        assertEquals(1, meterRegistry.get("employee.admission.rejections")
+                .tag("endpoint", "create").tag("reason", "rate_limited").counter().count());
+        assertEquals(3, meterRegistry.get("employee.admission.decisions").timer().count());
+    }
+
+    @Test
+    void testClientHeaderIgnoredFromUntrustedAddress() throws Exception {
+        assertEquals(200, post("batch", "10.0.0.7").getStatus());
+
+        assertEquals(429, post("another", "10.0.0.7").getStatus());
+        assertEquals(200, post("another", "10.0.0.8").getStatus());
+    }
+
+    @Test
+    void testNdjsonStreamNotCountedOnceStarted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.setAsyncSupported(true);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+        }, (req, res, next) -> {
+            res.setContentType("application/x-ndjson");
+            req.startAsync();
+        });
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(0, filter.inFlight());
+        assertEquals(0, meterRegistry.get("employee.admission.latency").timer().count());
+    }
+
+    @Test
+    void testStreamingResponseBodyNotCountedWhileStreaming() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ExportController(streaming, finish))
+                .addFilters(filter)
+                .build();
+
+        mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted());
+        assertTrue(streaming.await(5, TimeUnit.SECONDS));
+
+        assertEquals(0, filter.inFlight());
+        assertEquals(0, meterRegistry.get("employee.admission.latency").timer().count());
+        finish.countDown();
+    }
+
+    @Test
+    void testShedsAboveMaxInFlight() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+        }, (request, response, next) -> {
+            nested[0] = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), nested[0], new MockFilterChain());
+        });
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), new MockHttpServletResponse(), chain);
+
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+        assertEquals(0, filter.inFlight());
+        assertEquals(1, meterRegistry.get("employee.admission.latency").timer().count());
+    }
+
+    @Test
+    void testOnlyApiRequestsAreAdmitted() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertEquals(0, meterRegistry.get("employee.admission.decisions").timer().count());
+    }
+
+    @RestController
+    static class ExportController {
+
+        private final CountDownLatch streaming;
+        private final CountDownLatch finish;
+
+        ExportController(CountDownLatch streaming, CountDownLatch finish) {
+            this.streaming = streaming;
+            this.finish = finish;
+        }
+
+        @GetMapping(path = "/api/employees", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        ResponseEntity<StreamingResponseBody> export() {
+            StreamingResponseBody body = out -> {
+                streaming.countDown();
+                try {
+                    finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+    }
+
+    private MockHttpServletResponse post(String client) throws Exception {
+        return post(client, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse post(String client, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/employees");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,48 @@
+package com.digivisions.task.employeemanager.config;
+
+import com.digivisions.task.employeemanager.exception.ExternalServiceException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalDependencyGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ExternalDependencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        guard = new ExternalDependencyGuard("emailValidation", circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                meterRegistry);
+    }
+
+    @Test
+    void testCall_TimedByOutcome() {
+        assertEquals("ok", guard.call(() -> "ok"));
+        assertThrows(ExternalServiceException.class, () -> guard.call(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        circuitBreakerRegistry.circuitBreaker("emailValidation").transitionToOpenState();
+        assertThrows(ExternalServiceException.class, () -> guard.call(() -> "ok"));
+
+        assertEquals(1, count("success"));
+        assertEquals(1, count("failure"));
+        assertEquals(1, count("circuit_open"));
+        assertEquals(0, count("bulkhead_full"));
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.get("external.calls")
+                .tag("dependency", "emailValidation")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,49 @@
+package com.digivisions.task.employeemanager.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private AdmissionProperties.Endpoint create;
+    private AdmissionProperties.Endpoint list;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        create = new AdmissionProperties.Endpoint("create", "POST", "/api/employees", 2, 3);
+        list = new AdmissionProperties.Endpoint("list", "GET", "/api/employees/**", 100, 100);
+        properties.setEndpoints(List.of(create, list));
+        rateLimiter = new RateLimiter(properties);
+    }
+
+    @Test
+    void testMatch() {
+        assertSame(create, rateLimiter.match("post", "/api/employees"));
+        assertSame(list, rateLimiter.match("GET", "/api/employees/search"));
+        assertNull(rateLimiter.match("DELETE", "/api/employees/1"));
+    }
+
+    @Test
+    void testBurstThenRefillAtRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.acquire("batch", create, 0));
+        }
+        assertEquals(SECOND / 2, rateLimiter.acquire("batch", create, 0));
+        assertEquals(0, rateLimiter.acquire("ui", create, 0));
+        assertEquals(0, rateLimiter.acquire("batch", list, 0));
+
+        assertEquals(0, rateLimiter.acquire("batch", create, SECOND / 2));
+        assertTrue(rateLimiter.acquire("batch", create, SECOND / 2) > 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.acquire("batch", create, 10 * SECOND));
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package com.digivisions.task.employeemanager.controller;
 
 import com.digivisions.task.employeemanager.exception.EmployeeNotFoundException;
+import com.digivisions.task.employeemanager.exception.GlobalExceptionHandler;
+import com.digivisions.task.employeemanager.model.ChangeType;
+import com.digivisions.task.employeemanager.model.BulkImportResult;
 import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeChange;
+import com.digivisions.task.employeemanager.model.EmployeePage;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeView;
+import com.digivisions.task.employeemanager.service.DepartmentStatsService;
+import com.digivisions.task.employeemanager.service.EmployeeChangeLog;
+import com.digivisions.task.employeemanager.service.EmployeeChangeStream;
+import com.digivisions.task.employeemanager.service.EmployeeImportService;
 import com.digivisions.task.employeemanager.service.EmployeeService;
+import com.digivisions.task.employeemanager.service.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class EmployeeControllerTest {
@@ -30,27 +55,110 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private EmployeeImportService employeeImportService;
+
+    @Mock
+    private DepartmentStatsService departmentStatsService;
+
+    @Mock
+    private EmployeeChangeLog changeLog;
+
+    @Mock
+    private EmployeeChangeStream changeStream;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
     }
 
     @Test
     void testGetAllEmployees() throws Exception {
-        List<Employee> employees = new ArrayList<>();
-        employees.add(new Employee(UUID.randomUUID(), "Ahmed Hamdy", "Ahmed.Hamdy@example.com"));
+        List<EmployeeView> employees = new ArrayList<>();
+        employees.add(new EmployeeView(UUID.randomUUID(), "Ahmed Hamdy", "Hamdy", "Ahmed.Hamdy@example.com", "IT", 2000, 3L));
 
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(employeeService.findEmployees(any(EmployeeQuery.class))).thenReturn(new EmployeePage<>(employees, null));
 
         mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName", is("Ahmed Hamdy")))
+                .andExpect(jsonPath("$[0].salary", is(2000.0)))
+                .andExpect(jsonPath("$[0].version", is(3)));
+    }
+
+    @Test
+    void testGetAllEmployees_NextCursor() throws Exception {
+        List<EmployeeView> employees = new ArrayList<>();
+        employees.add(new EmployeeView(UUID.randomUUID(), "Ahmed Hamdy", "Hamdy", "Ahmed.Hamdy@example.com", "IT", 2000, 0L));
+
+        when(employeeService.findEmployees(argThat(query -> "abc".equals(query.getCursor()) && query.getLimit() == 1)))
+                .thenReturn(new EmployeePage<>(employees, "def"));
+
+        mockMvc.perform(get("/api/employees").param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testGetAllEmployees_FiltersAndProjection() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("firstName", "Ahmed Hamdy");
+
+        when(employeeService.findEmployeeFields(argThat(query -> "IT".equals(query.getDepartment())
+                && query.getMinSalary() == 2000
+                && query.getSort().equals(List.of("lastName", "-salary"))
+                && query.getFields().equals(List.of("firstName")))))
+                .thenReturn(new EmployeePage<>(List.of(row), null));
+
+        mockMvc.perform(get("/api/employees")
+                        .param("department", "IT")
+                        .param("minSalary", "2000")
+                        .param("sort", "lastName,-salary")
+                        .param("fields", "firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName", is("Ahmed Hamdy")))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    void testSearchEmployees() throws Exception {
+        EmployeeView employee = new EmployeeView(UUID.randomUUID(), "Ahmed Hamdy", "Hamdy", "Ahmed.Hamdy@example.com", "IT", 2000, 0L);
+
+        when(employeeService.searchEmployees("ahm", 5)).thenReturn(List.of(employee));
+
+        mockMvc.perform(get("/api/employees/search").param("q", "ahm").param("limit", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].firstName", is("Ahmed Hamdy")));
     }
 
+    @Test
+    void testGetChanges() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(changeLog.since(41L, null)).thenReturn(List.of(
+                new EmployeeChange(42, ChangeType.DELETED, id, 3L, Instant.now(), null)));
+
+        mockMvc.perform(get("/api/employees/changes").param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sequence", is(42)))
+                .andExpect(jsonPath("$[0].type", is("DELETED")));
+    }
+
     @Test
     void testGetEmployeeById_Success() throws Exception {
         UUID id = UUID.randomUUID();
@@ -60,9 +168,25 @@ class EmployeeControllerTest {
 
         mockMvc.perform(get("/api/employees/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", EmployeeController.etag(employee)))
                 .andExpect(jsonPath("$.firstName", is("Ahmed Hamdy")));
     }
 
+    @Test
+    void testGetEmployeeById_NotModified() throws Exception {
+        UUID id = UUID.randomUUID();
+        Employee employee = new Employee(id, "Ahmed Hamdy", "Ahmed.Hamdy@example.com");
+
+        when(employeeService.getEmployeeById(id)).thenReturn(employee);
+
+        mockMvc.perform(get("/api/employees/{id}", id).header("If-None-Match", EmployeeController.etag(employee)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/employees/{id}", id).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void testGetEmployeeById_NotFound() throws Exception {
         UUID id = UUID.randomUUID();
@@ -70,28 +194,81 @@ class EmployeeControllerTest {
         when(employeeService.getEmployeeById(id)).thenThrow(new EmployeeNotFoundException("Employee not found"));
 
         mockMvc.perform(get("/api/employees/{id}", id))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/problem+json"))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.detail", is("Employee not found")))
+                .andExpect(jsonPath("$.instance", is("/api/employees/" + id)));
     }
 
     @Test
     void testCreateEmployee_Success() throws Exception {
         Employee employee = new Employee(UUID.randomUUID(), "Ahmed Hamdy", "Ahmed.Hamdy@example.com");
 
-        when(employeeService.createEmployee(any(Employee.class))).thenReturn(employee);
+        when(employeeService.createEmployeeAsync(any(Employee.class))).thenReturn(CompletableFuture.completedFuture(employee));
 
-        mockMvc.perform(post("/api/employees")
+        MvcResult result = mockMvc.perform(post("/api/employees")
                         .contentType("application/json")
                         .content("{\"firstName\": \"Ahmed Hamdy\", \"email\": \"Ahmed.Hamdy@example.com\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.firstName", is("Ahmed Hamdy")));
     }
 
+    @Test
+    void testCreateEmployee_IdempotencyKey() throws Exception {
+        Employee employee = new Employee(UUID.randomUUID(), "Ahmed Hamdy", "Ahmed.Hamdy@example.com");
+
+        when(idempotencyStore.<Employee>execute(eq("key-1"), eq(Arrays.asList("Ahmed Hamdy", null, "Ahmed.Hamdy@example.com", null, 0.0)), any()))
+                .thenReturn(CompletableFuture.completedFuture(employee));
+
+        MvcResult result = mockMvc.perform(post("/api/employees")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType("application/json")
+                        .content("{\"firstName\": \"Ahmed Hamdy\", \"email\": \"Ahmed.Hamdy@example.com\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(employee.getId().toString())));
+        verify(employeeService, never()).createEmployeeAsync(any());
+    }
+
+    @Test
+    void testStreamAllEmployees_NdjsonContentType() throws Exception {
+        mockMvc.perform(get("/api/employees").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentType("application/x-ndjson"));
+    }
+
+    @Test
+    void testImportEmployeesCsv() throws Exception {
+        UUID id = UUID.randomUUID();
+        BulkImportResult result = new BulkImportResult(List.of(
+                BulkImportResult.RowResult.created(1, id),
+                BulkImportResult.RowResult.rejected(2, "Invalid department")));
+
+        when(employeeImportService.importCsv(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/employees/bulk")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email,department,salary\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.rows[1].error", is("Invalid department")));
+    }
+
     @Test
     void testUpdateEmployee_Success() throws Exception {
         UUID id = UUID.randomUUID();
         Employee employee = new Employee(id, "Ahmed Hamdy", "Ahmed.Hamdy@example.com");
 
-        when(employeeService.updateEmployee(eq(id), any(Employee.class))).thenReturn(employee);
+        when(employeeService.updateEmployee(eq(id), any(Employee.class), isNull())).thenReturn(employee);
 
         mockMvc.perform(put("/api/employees/{id}", id)
                         .contentType("application/json")
@@ -104,7 +281,7 @@ class EmployeeControllerTest {
     void testUpdateEmployee_NotFound() throws Exception {
         UUID id = UUID.randomUUID();
 
-        when(employeeService.updateEmployee(eq(id), any(Employee.class))).thenThrow(new EmployeeNotFoundException("Employee not found"));
+        when(employeeService.updateEmployee(eq(id), any(Employee.class), isNull())).thenThrow(new EmployeeNotFoundException("Employee not found"));
 
         mockMvc.perform(put("/api/employees/{id}", id)
                         .contentType("application/json")
@@ -112,6 +289,36 @@ class EmployeeControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testUpdateEmployee_StaleIfMatch() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        when(employeeService.updateEmployee(eq(id), any(Employee.class), eq(3L)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(put("/api/employees/{id}", id)
+                        .header("If-Match", "\"3\"")
+                        .contentType("application/json")
+                        .content("{\"firstName\": \"Ahmed Hamdy\", \"email\": \"Ahmed.Hamdy@example.com\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testPatchEmployee_Success() throws Exception {
+        UUID id = UUID.randomUUID();
+        Employee employee = new Employee(id, "Ahmed Hamdy", "Ahmed.Hamdy@example.com");
+        employee.setVersion(4L);
+
+        when(employeeService.patchEmployee(id, Map.of("department", "HR"), 3L)).thenReturn(employee);
+
+        mockMvc.perform(patch("/api/employees/{id}", id)
+                        .header("If-Match", "W/\"3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"department\": \"HR\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     void testDeleteEmployee_Success() throws Exception {
         UUID id = UUID.randomUUID();
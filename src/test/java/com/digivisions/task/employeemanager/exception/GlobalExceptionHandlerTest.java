@@ -0,0 +1,38 @@
+package com.digivisions.task.employeemanager.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    @Test
+    void testConflictNamesViolatedConstraint() {
+        assertEquals("An employee with this email already exists.", GlobalExceptionHandler.conflict(
+                violation("PUBLIC.IDX_EMPLOYEE_EMAIL_INDEX_4 ON PUBLIC.EMPLOYEE(EMAIL NULLS FIRST)")));
+        assertEquals("Department does not exist.", GlobalExceptionHandler.conflict(
+                violation("FK_EMPLOYEE_DEPARTMENT: PUBLIC.EMPLOYEE FOREIGN KEY(DEPARTMENT_ID)")));
+        assertEquals("Request conflicts with existing data.", GlobalExceptionHandler.conflict(violation(null)));
+        assertEquals("Request conflicts with existing data.",
+                GlobalExceptionHandler.conflict(new DataIntegrityViolationException("constraint")));
+    }
+
+    @Test
+    void testLogEveryMustBePositive() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(handler, "logEvery", 0);
+
+        assertThrows(IllegalStateException.class, handler::checkLogEvery);
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraint));
+    }
+}
@@ -0,0 +1,24 @@
+package com.digivisions.task.employeemanager.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmployeeViewTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSerializesLikeTheEntity() throws Exception {
+        Employee employee = new Employee(UUID.randomUUID(), "ahmed", "hamdy", "ahmed.hamdy@example.com", "IT", 2500.5);
+        employee.setVersion(4L);
+        Employee unsaved = new Employee(null, "mona", "mona@example.com", 3000.0);
+
+        assertEquals(objectMapper.writeValueAsString(List.of(employee, unsaved)),
+                objectMapper.writeValueAsString(List.of(EmployeeView.of(employee), EmployeeView.of(unsaved))));
+    }
+}
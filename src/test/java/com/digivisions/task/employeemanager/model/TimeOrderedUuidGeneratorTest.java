@@ -0,0 +1,38 @@
+package com.digivisions.task.employeemanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void testVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp < System.currentTimeMillis() + 1_000);
+    }
+
+    @Test
+    void testIdsIncreaseAsStoredBytes() {
+        byte[] previous = bytes(TimeOrderedUuidGenerator.next());
+        for (int i = 0; i < 100_000; i++) {
+            byte[] current = bytes(TimeOrderedUuidGenerator.next());
+            assertTrue(Arrays.compareUnsigned(previous, current) < 0);
+            previous = current;
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -1,16 +1,25 @@
 package com.digivisions.task.employeemanager.repository;
 
+import com.digivisions.task.employeemanager.config.EmployeeCacheProperties;
 import com.digivisions.task.employeemanager.exception.EmployeeNotFoundException;
 import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+import com.digivisions.task.employeemanager.service.DepartmentStatsService;
 import com.digivisions.task.employeemanager.service.EmailService;
+import com.digivisions.task.employeemanager.service.EmployeeCache;
+import com.digivisions.task.employeemanager.service.EmployeeChangeLog;
+import com.digivisions.task.employeemanager.service.EmployeeSearchIndex;
 import com.digivisions.task.employeemanager.service.EmployeeService;
-import com.digivisions.task.employeemanager.validation.DepartmentVerificationService;
-import com.digivisions.task.employeemanager.validation.EmailValidationService;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import com.digivisions.task.employeemanager.validation.ValidationRecheckQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,10 +38,28 @@ class EmployeeRepositoryTest {
     private EmailService emailService;
 
     @Mock
-    private EmailValidationService emailValidationService;
+    private EmployeeValidator employeeValidator;
 
     @Mock
-    private DepartmentVerificationService departmentVerificationService;
+    private ValidationRecheckQueue recheckQueue;
+
+    @Mock
+    private DepartmentStatsService departmentStatsService;
+
+    @Mock
+    private DepartmentRegistry departmentRegistry;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private EmployeeChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new EmployeeCacheProperties(), new SimpleMeterRegistry());
 
     @InjectMocks
     private EmployeeService employeeService;
@@ -43,6 +70,7 @@ class EmployeeRepositoryTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(departmentRegistry.canonical(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
         employeeId = UUID.randomUUID();
         employee = new Employee(employeeId, "ahmed hamdy", "elsawy", "ahmed.hamdey@example.com", "IT", 2000);
     }
@@ -69,8 +97,6 @@ class EmployeeRepositoryTest {
     @Test
     void testSaveEmployee_Success() {
         when(employeeRepository.save(employee)).thenReturn(employee);
-        when(emailValidationService.isValidEmail(anyString())).thenReturn(true);
-        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
         Employee savedEmployee = employeeService.createEmployee(employee);
 
         assertNotNull(savedEmployee);
@@ -87,8 +113,7 @@ class EmployeeRepositoryTest {
 
     @Test
     void testDeleteEmployee_Success() {
-        doNothing().when(employeeRepository).delete(employee);
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        when(employeeRepository.deleteByIdReturning(employeeId)).thenReturn(Optional.of(employee));
 
         assertDoesNotThrow(() -> employeeService.deleteEmployee(employeeId));
 
@@ -97,7 +122,7 @@ class EmployeeRepositoryTest {
 
     @Test
     void testDeleteEmployee_NotFound() {
-        doThrow(new EmployeeNotFoundException("Employee not found")).when(employeeRepository).deleteById(employeeId);
+        when(employeeRepository.deleteByIdReturning(employeeId)).thenReturn(Optional.empty());
 
         assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployee(employeeId));
     }
@@ -0,0 +1,84 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.Department;
+import com.digivisions.task.employeemanager.repository.DepartmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DepartmentRegistryTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DepartmentRegistry departmentRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        List<Department> departments = List.of(department(1, "IT"), department(2, "HR"));
+        when(departmentRepository.findAll()).thenReturn(departments);
+        departmentRegistry = new DepartmentRegistry(departmentRepository, transactionManager);
+    }
+
+    @Test
+    void testLoadedAtStartup() {
+        assertTrue(departmentRegistry.isRegistered("IT"));
+        assertEquals(2, departmentRegistry.idOf("HR"));
+        assertEquals("HR", departmentRegistry.nameOf(2));
+        assertNull(departmentRegistry.idOf("Legal"));
+        assertEquals(1, departmentRegistry.register("IT"));
+        verify(departmentRepository, never()).save(any());
+    }
+
+    @Test
+    void testRegisterInsertsOnce() {
+        Department legal = department(3, "Legal");
+        when(departmentRepository.save(any(Department.class))).thenReturn(legal);
+
+        assertEquals(3, departmentRegistry.register("Legal"));
+        assertEquals(3, departmentRegistry.register("Legal"));
+
+        verify(departmentRepository, times(1)).save(any(Department.class));
+        assertSame(legal.getName(), departmentRegistry.nameOf(3));
+    }
+
+    @Test
+    void testNamesMatchIgnoringCase() {
+        assertTrue(departmentRegistry.isRegistered(" it "));
+        assertEquals(2, departmentRegistry.idOf("hr"));
+        assertEquals("IT", departmentRegistry.canonical("it"));
+        assertEquals("Legal", departmentRegistry.canonical("Legal"));
+        assertEquals(1, departmentRegistry.register("It"));
+        verify(departmentRepository, never()).save(any());
+    }
+
+    @Test
+    void testRegisterAfterConcurrentInsert() {
+        when(departmentRepository.save(any(Department.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        Department legal = department(3, "Legal");
+        when(departmentRepository.findByName("Legal")).thenReturn(Optional.of(legal));
+
+        assertEquals(3, departmentRegistry.register("Legal"));
+        assertEquals(3, departmentRegistry.idOf("Legal"));
+    }
+
+    private static Department department(int id, String name) {
+        Department department = mock(Department.class);
+        when(department.getId()).thenReturn(id);
+        when(department.getName()).thenReturn(name);
+        return department;
+    }
+}
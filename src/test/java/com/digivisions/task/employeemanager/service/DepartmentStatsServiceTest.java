@@ -0,0 +1,105 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.DepartmentStats;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class DepartmentStatsServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DepartmentStatsService departmentStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        departmentStatsService = new DepartmentStatsService(employeeRepository, transactionManager);
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        Employee first = employee("IT", 2000);
+        Employee second = employee("IT", 4000);
+        Employee third = employee("HR", 3000);
+        departmentStatsService.recordCreated(first);
+        departmentStatsService.recordCreated(List.of(second, third));
+
+        first.setSalary(2500);
+        departmentStatsService.recordUpdated("IT", 2000, first);
+        departmentStatsService.recordUpdated("HR", 3000, employee("Finance", 3000));
+
+        List<DepartmentStats> stats = departmentStatsService.getStats();
+        assertEquals(2, stats.size());
+        assertEquals("Finance", stats.get(0).getDepartment());
+        DepartmentStats it = stats.get(1);
+        assertEquals(2, it.getHeadcount());
+        assertEquals(6500, it.getTotalSalary());
+        assertEquals(3250, it.getAverageSalary());
+        assertEquals(2500, it.getMinSalary());
+        assertEquals(4000, it.getMaxSalary());
+        assertEquals(2500, it.getPercentiles().get("p50"));
+        assertEquals(4000, it.getPercentiles().get("p99"));
+
+        departmentStatsService.recordDeleted(second);
+        departmentStatsService.recordDeleted(first);
+
+        assertEquals(1, departmentStatsService.getStats().size());
+    }
+
+    @Test
+    void testRebuildReplacesRollups() {
+        departmentStatsService.recordCreated(employee("Stale", 9000));
+        when(employeeRepository.streamDepartmentSalaries()).thenReturn(Stream.of(
+                new Object[]{"IT", 1500.0}, new Object[]{"IT", 1600.0}, new Object[]{"IT", 1700.0},
+                new Object[]{"IT", 1800.0}, new Object[]{"IT", 10000.0}));
+
+        List<DepartmentStats> stats = departmentStatsService.rebuild();
+
+        assertEquals(1, stats.size());
+        DepartmentStats it = stats.get(0);
+        assertEquals(5, it.getHeadcount());
+        assertEquals(1700, it.getPercentiles().get("p50"));
+        assertEquals(10000, it.getPercentiles().get("p90"));
+        assertTrue(departmentStatsService.getStats().stream().noneMatch(s -> "Stale".equals(s.getDepartment())));
+    }
+
+    @Test
+    void testRebuildReplaysChangesCommittedDuringScan() {
+        Employee hired = employee("HR", 3000);
+        when(employeeRepository.streamDepartmentSalaries()).thenAnswer(invocation -> {
+            departmentStatsService.recordCreated(hired);
+            return Stream.<Object[]>of(new Object[]{"IT", 2000.0});
+        });
+
+        List<DepartmentStats> stats = departmentStatsService.rebuild();
+
+        assertEquals(2, stats.size());
+        assertEquals("HR", stats.get(0).getDepartment());
+        assertEquals(1, stats.get(0).getHeadcount());
+
+        departmentStatsService.recordDeleted(hired);
+
+        assertEquals(1, departmentStatsService.getStats().size());
+    }
+
+    private static Employee employee(String department, double salary) {
+        return new Employee(UUID.randomUUID(), "ahmed", "hamdy", "ahmed.hamdy@example.com", department, salary);
+    }
+}
@@ -0,0 +1,83 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.EmployeeChangeProperties;
+import com.digivisions.task.employeemanager.exception.ChangesExpiredException;
+import com.digivisions.task.employeemanager.model.ChangeType;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeeChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeChangeLogTest {
+
+    private EmployeeChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeChangeProperties properties = new EmployeeChangeProperties();
+        properties.setCapacity(3);
+        properties.setMaxPageSize(2);
+        changeLog = new EmployeeChangeLog(properties);
+    }
+
+    @Test
+    void testChangesSinceSequence() {
+        AtomicInteger appends = new AtomicInteger();
+        changeLog.addListener(appends::incrementAndGet);
+        Employee employee = employee();
+        long start = changeLog.latestSequence();
+
+        changeLog.recordCreated(employee);
+        employee.setVersion(1L);
+        changeLog.recordUpdated(employee);
+        changeLog.recordDeleted(employee);
+
+        List<EmployeeChange> page = changeLog.since(start, null);
+        assertEquals(2, page.size());
+        assertEquals(start + 1, page.get(0).getSequence());
+        assertEquals(ChangeType.CREATED, page.get(0).getType());
+        assertEquals(0L, page.get(0).getVersion());
+        assertNotSame(employee, page.get(0).getEmployee());
+        assertEquals(ChangeType.UPDATED, page.get(1).getType());
+        assertEquals(1L, page.get(1).getVersion());
+
+        List<EmployeeChange> rest = changeLog.since(page.get(1).getSequence(), null);
+        assertEquals(ChangeType.DELETED, rest.get(0).getType());
+        assertTrue(changeLog.since(changeLog.latestSequence(), 10).isEmpty());
+        assertEquals(3, appends.get());
+    }
+
+    @Test
+    void testDroppedChangesExpireTheirSequences() {
+        long start = changeLog.latestSequence();
+        changeLog.recordCreated(List.of(employee(), employee(), employee(), employee()));
+
+        assertThrows(ChangesExpiredException.class, () -> changeLog.since(start, null));
+        assertEquals(start + 2, changeLog.since(null, null).get(0).getSequence());
+        assertEquals(1, changeLog.since(start + 3, null).size());
+    }
+
+    @Test
+    void testSequenceAheadOfTheLogExpires() {
+        changeLog.recordCreated(List.of(employee()));
+        long latest = changeLog.latestSequence();
+
+        assertTrue(changeLog.since(latest, null).isEmpty());
+        assertThrows(ChangesExpiredException.class, () -> changeLog.since(latest + 1, null));
+    }
+
+    private static Employee employee() {
+        Employee employee = new Employee(UUID.randomUUID(), "ahmed", "hamdy", "ahmed.hamdy@example.com", "IT", 2000);
+        employee.setVersion(0L);
+        return employee;
+    }
+}
@@ -0,0 +1,41 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.EmployeeChangeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeChangeStreamTest {
+
+    @Mock
+    private EmployeeChangeLog changeLog;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private EmployeeChangeStream changeStream;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        changeStream = new EmployeeChangeStream(changeLog, new EmployeeChangeProperties(), tasks::add);
+    }
+
+    @Test
+    void testHeartbeatQueuedOnExecutorOncePerSubscriber() {
+        changeStream.subscribe(null);
+        tasks.clear();
+
+        changeStream.heartbeat();
+        changeStream.heartbeat();
+
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        changeStream.heartbeat();
+        assertEquals(1, tasks.size());
+    }
+}
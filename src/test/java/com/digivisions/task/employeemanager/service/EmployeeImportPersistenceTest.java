@@ -0,0 +1,84 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.BulkImportResult;
+import com.digivisions.task.employeemanager.model.BulkImportResult.RowResult;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import com.digivisions.task.employeemanager.validation.ValidationOutcome;
+import com.digivisions.task.employeemanager.validation.ValidationRecheckQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the import against the database, where a rolled-back chunk leaves state on its entities
+ * that a mocked repository never sees. Salary carries {@code @NotBlank}, which has no validator
+ * for a number, so validation on persist is off; the import validates rows before saving them.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.javax.persistence.validation.mode=none")
+@Import({EmployeeImportService.class, DepartmentRegistry.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeImportPersistenceTest {
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EmployeeValidator employeeValidator;
+
+    @MockBean
+    private ValidationRecheckQueue recheckQueue;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private DepartmentStatsService departmentStatsService;
+
+    @MockBean
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @MockBean
+    private EmployeeChangeLog changeLog;
+
+    @Test
+    void testRolledBackChunkRetriedRowByRowKeepsIds() {
+        String csv = "firstName,lastName,email,department,salary\n"
+                + "ahmed,hamdy,a@example.com,IT,2000\n"
+                + "mohamed,ali,m@example.com,IT,2500\n";
+        when(employeeValidator.validateAll(anyList())).thenReturn(Arrays.asList(
+                ValidationOutcome.passed(Collections.emptySet()),
+                ValidationOutcome.passed(Collections.emptySet())));
+        doThrow(new DataIntegrityViolationException("outbox unavailable")).doNothing()
+                .when(emailService).sendEmails(anyList());
+
+        BulkImportResult result = employeeImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getCreated());
+        for (RowResult row : result.getRows()) {
+            assertNotNull(row.getId());
+            assertTrue(employeeRepository.existsById(row.getId()));
+        }
+        assertEquals(2, employeeRepository.count());
+        verify(recheckQueue, never()).schedule(isNull(), any());
+    }
+}
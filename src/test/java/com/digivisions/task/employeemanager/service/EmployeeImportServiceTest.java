@@ -0,0 +1,182 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import com.digivisions.task.employeemanager.model.BulkImportResult;
+import com.digivisions.task.employeemanager.model.BulkImportResult.RowStatus;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import com.digivisions.task.employeemanager.validation.ValidationOutcome;
+import com.digivisions.task.employeemanager.validation.ValidationRecheckQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeImportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeValidator employeeValidator;
+
+    @Mock
+    private ValidationRecheckQueue recheckQueue;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private DepartmentStatsService departmentStatsService;
+
+    @Mock
+    private DepartmentRegistry departmentRegistry;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private EmployeeChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeImportService employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(departmentRegistry.canonical(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        employeeImportService = new EmployeeImportService(employeeRepository, employeeValidator, recheckQueue,
+                emailService, departmentStatsService, departmentRegistry, employeeSearchIndex, changeLog, transactionManager,
+                new ObjectMapper());
+    }
+
+    @Test
+    void testImportCsv_PerRowResults() {
+        String csv = "firstName,lastName,email,department,salary\n"
+                + "ahmed,hamdy,ahmed.hamdy@example.com,IT,2000\n"
+                + "mohamed,ali,mohamed.ali@example.com,HR,1000\n"
+                + "sara,\"el, sayed\",sara@example.com,Unknown,3000\n";
+        when(employeeValidator.validateAll(anyList())).thenReturn(Arrays.asList(
+                ValidationOutcome.passed(Collections.emptySet()),
+                ValidationOutcome.rejected("Invalid department")));
+
+        BulkImportResult result = employeeImportService.importCsv(stream(csv));
+
+        assertEquals(3, result.getTotal());
+        assertEquals(1, result.getCreated());
+        assertEquals(RowStatus.CREATED, result.getRows().get(0).getStatus());
+        assertEquals("Salary must be greater than or equal to 1,500.", result.getRows().get(1).getError());
+        assertEquals("Invalid department", result.getRows().get(2).getError());
+
+        ArgumentCaptor<List<Employee>> validated = ArgumentCaptor.forClass(List.class);
+        verify(employeeValidator).validateAll(validated.capture());
+        assertEquals("el, sayed", validated.getValue().get(1).getLastName());
+        verify(departmentRegistry).register("IT");
+        verify(departmentRegistry, never()).register("Unknown");
+        verify(employeeRepository, times(1)).saveAll(anyList());
+        verify(emailService, times(1)).sendEmails(argThat(mails -> mails.size() == 1));
+    }
+
+    @Test
+    void testImportJson_Ndjson() {
+        String ndjson = "{\"firstName\":\"ahmed\",\"lastName\":\"hamdy\",\"email\":\"a@example.com\",\"department\":\"IT\",\"salary\":2000}\n"
+                + "{\"firstName\":\"mohamed\",\"lastName\":\"ali\",\"email\":\"m@example.com\",\"department\":\"IT\",\"salary\":2500}\n";
+        when(employeeValidator.validateAll(anyList())).thenReturn(Arrays.asList(
+                ValidationOutcome.passed(Collections.emptySet()),
+                ValidationOutcome.passed(Collections.emptySet())));
+
+        BulkImportResult result = employeeImportService.importJson(stream(ndjson));
+
+        assertEquals(2, result.getCreated());
+    }
+
+    @Test
+    void testImportJson_Array() {
+        String json = "[{\"firstName\":\"ahmed\",\"lastName\":\"hamdy\",\"email\":\"a@example.com\",\"department\":\"IT\",\"salary\":2000}]";
+        when(employeeValidator.validateAll(anyList())).thenReturn(Collections.singletonList(
+                ValidationOutcome.passed(Collections.emptySet())));
+
+        BulkImportResult result = employeeImportService.importJson(stream(json));
+
+        assertEquals(1, result.getCreated());
+    }
+
+    @Test
+    void testImportCsv_DuplicateEmailsRejectedPerRow() {
+        String csv = "firstName,lastName,email,department,salary\n"
+                + "ahmed,hamdy,a@example.com,IT,2000\n"
+                + "ahmed,hamdy,a@example.com,IT,2000\n"
+                + "mohamed,ali,taken@example.com,IT,2500\n"
+                + "sara,sayed,s@example.com,IT,3000\n";
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+        when(employeeValidator.validateAll(anyList())).thenReturn(Arrays.asList(
+                ValidationOutcome.passed(Collections.emptySet()),
+                ValidationOutcome.passed(Collections.emptySet())));
+
+        BulkImportResult result = employeeImportService.importCsv(stream(csv));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(RowStatus.CREATED, result.getRows().get(0).getStatus());
+        assertEquals("Duplicate email in import", result.getRows().get(1).getError());
+        assertEquals("Email already exists", result.getRows().get(2).getError());
+        assertEquals(RowStatus.CREATED, result.getRows().get(3).getStatus());
+        verify(employeeValidator).validateAll(argThat(employees -> employees.size() == 2));
+    }
+
+    @Test
+    void testImportCsv_FailedChunkRetriedRowByRow() {
+        String csv = "firstName,lastName,email,department,salary\n"
+                + "ahmed,hamdy,a@example.com,IT,2000\n"
+                + "mohamed,ali,m@example.com,IT,2500\n";
+        when(employeeValidator.validateAll(anyList())).thenReturn(Arrays.asList(
+                ValidationOutcome.passed(Collections.emptySet()),
+                ValidationOutcome.passed(Collections.emptySet())));
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.size() > 1 || employees.get(0).getEmail().equals("m@example.com")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return employees;
+        });
+
+        BulkImportResult result = employeeImportService.importCsv(stream(csv));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(RowStatus.CREATED, result.getRows().get(0).getStatus());
+        assertEquals("Could not be saved: duplicate key", result.getRows().get(1).getError());
+        verify(employeeRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void testImportCsv_MissingColumn() {
+        assertThrows(InvalidInputException.class,
+                () -> employeeImportService.importCsv(stream("firstName,lastName,email\n")));
+    }
+
+    @Test
+    void testParseCsvLine_QuotedFields() {
+        assertEquals(Arrays.asList("a", "b, c", "say \"hi\"", ""),
+                EmployeeImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class EmployeeSearchIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private final Employee ahmed = new Employee(UUID.randomUUID(), "Ahmed", "Hamdy", "ahmed.hamdy@example.com", "IT", 2000);
+    private final Employee ahmad = new Employee(UUID.randomUUID(), "Ahmad", "Salem", "a.salem@example.com", "HR", 2000);
+    private final Employee mona = new Employee(UUID.randomUUID(), "Mona", "Ahmedov", "mona@example.com", "IT", 2000);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeSearchIndex = new EmployeeSearchIndex(employeeRepository, transactionManager);
+        employeeSearchIndex.indexCreated(List.of(ahmed, ahmad, mona));
+    }
+
+    @Test
+    void testRanksWholeWordsOverPrefixesOverTypos() {
+        assertEquals(List.of(ahmed.getId(), mona.getId(), ahmad.getId()), employeeSearchIndex.search("ahmed", 10));
+        assertEquals(List.of(ahmed.getId(), mona.getId()), employeeSearchIndex.search("ahme", 10));
+        assertEquals(List.of(ahmed.getId()), employeeSearchIndex.search("ahmde", 1));
+    }
+
+    @Test
+    void testEveryWordMustMatch() {
+        assertEquals(List.of(ahmed.getId()), employeeSearchIndex.search("hamdy, it", 10));
+        assertEquals(List.of(mona.getId()), employeeSearchIndex.search("Mona@EXAMPLE", 10));
+        assertTrue(employeeSearchIndex.search("mona hr", 10).isEmpty());
+    }
+
+    @Test
+    void testUpdatesAndDeletes() {
+        mona.setLastName("Kamal");
+        employeeSearchIndex.indexUpdated(mona);
+        employeeSearchIndex.indexDeleted(ahmad.getId());
+
+        assertEquals(List.of(ahmed.getId()), employeeSearchIndex.search("ahm", 10));
+        assertEquals(List.of(mona.getId()), employeeSearchIndex.search("kamal", 10));
+        assertEquals(2, employeeSearchIndex.size());
+    }
+
+    @Test
+    void testBroadWordsStillIntersect() {
+        List<Employee> crowd = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            crowd.add(new Employee(UUID.randomUUID(), "Ahmed", "Other" + i, "a" + i + "@example.com", "IT", 2000));
+            crowd.add(new Employee(UUID.randomUUID(), "Omar", "Hamdy", "o" + i + "@example.com", "IT", 2000));
+        }
+        employeeSearchIndex.indexCreated(crowd);
+
+        assertEquals(List.of(ahmed.getId()), employeeSearchIndex.search("ahmed hamdy", 10));
+        assertEquals(List.of(ahmed.getId()), employeeSearchIndex.search("ahm ham", 10));
+
+        crowd.forEach(employee -> employeeSearchIndex.indexDeleted(employee.getId()));
+        assertEquals(3, employeeSearchIndex.size());
+        assertEquals(List.of(ahmed.getId(), mona.getId()), employeeSearchIndex.search("ahme", 10));
+    }
+
+    @Test
+    void testRebuildReplacesIndex() {
+        UUID id = UUID.randomUUID();
+        when(employeeRepository.streamSearchFields()).thenReturn(Stream.<Object[]>of(
+                new Object[]{id, "Sara", "Nabil", "sara.nabil@example.com", "Finance"}));
+
+        assertEquals(1, employeeSearchIndex.rebuild());
+        assertEquals(List.of(id), employeeSearchIndex.search("fin", 10));
+        assertTrue(employeeSearchIndex.search("ahmed", 10).isEmpty());
+    }
+}
@@ -1,24 +1,44 @@
 package com.digivisions.task.employeemanager.service;
 
+import com.digivisions.task.employeemanager.config.EmployeeCacheProperties;
 import com.digivisions.task.employeemanager.exception.EmployeeNotFoundException;
 import com.digivisions.task.employeemanager.exception.InvalidInputException;
 import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.EmployeePage;
+import com.digivisions.task.employeemanager.model.EmployeeQuery;
+import com.digivisions.task.employeemanager.model.EmployeeView;
 import com.digivisions.task.employeemanager.repository.EmployeeRepository;
-import com.digivisions.task.employeemanager.validation.DepartmentVerificationService;
-import com.digivisions.task.employeemanager.validation.EmailValidationService;
+import com.digivisions.task.employeemanager.validation.EmployeeValidator;
+import com.digivisions.task.employeemanager.validation.ValidationRecheckQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class EmployeeServiceTest {
@@ -30,10 +50,31 @@ class EmployeeServiceTest {
     private EmailService emailService;
 
     @Mock
-    private EmailValidationService emailValidationService;
+    private EmployeeValidator employeeValidator;
 
     @Mock
-    private DepartmentVerificationService departmentVerificationService;
+    private ValidationRecheckQueue recheckQueue;
+
+    @Mock
+    private DepartmentStatsService departmentStatsService;
+
+    @Mock
+    private DepartmentRegistry departmentRegistry;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private EmployeeChangeLog changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Executor taskExecutor;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new EmployeeCacheProperties(), new SimpleMeterRegistry());
 
     @InjectMocks
     private EmployeeService employeeService;
@@ -44,6 +85,7 @@ class EmployeeServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(departmentRegistry.canonical(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
         employeeId = UUID.randomUUID();
         employee = new Employee(employeeId, "ahmed hamdy", "elsawy", "ahmed.hamdey@example.com", "IT", 2000);
     }
@@ -59,16 +101,105 @@ class EmployeeServiceTest {
         verify(employeeRepository).findAll();
     }
 
+    @Test
+    void testFindEmployees_HasNext() {
+        EmployeeView second = new EmployeeView(UUID.randomUUID(), "mohamed", "ali", "mohamed.ali@example.com", "HR", 3000, 0L);
+        EmployeeQuery query = new EmployeeQuery();
+        query.setLimit(1);
+        when(employeeRepository.search(query, null, 2)).thenReturn(Arrays.asList(EmployeeView.of(employee), second));
+
+        EmployeePage<EmployeeView> page = employeeService.findEmployees(query);
+
+        assertEquals(1, page.getEmployees().size());
+        assertTrue(page.hasNext());
+        assertEquals(Collections.singletonList(employeeId),
+                EmployeeService.decodeCursor(page.getNextCursor(), query.getOrdering()));
+    }
+
+    @Test
+    void testFindEmployees_SortedCursorCarriesOrderingValues() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setSort(Arrays.asList("department", "-salary"));
+        String cursor = EmployeeService.encodeCursor(Arrays.asList("IT", 2000.0, employeeId));
+        query.setCursor(cursor);
+        query.setLimit(10);
+        List<Object> after = Arrays.asList("IT", 2000.0, employeeId);
+        when(employeeRepository.search(query, after, 11)).thenReturn(Collections.singletonList(EmployeeView.of(employee)));
+
+        EmployeePage<EmployeeView> page = employeeService.findEmployees(query);
+
+        assertEquals(1, page.getEmployees().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testFindEmployeeFields_OnlyRequestedFields() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setFields(Collections.singletonList("email"));
+        query.setLimit(1);
+        Map<String, Object> first = new HashMap<>(Map.of("email", "a@example.com", "id", employeeId));
+        Map<String, Object> second = new HashMap<>(Map.of("email", "b@example.com", "id", UUID.randomUUID()));
+        when(employeeRepository.searchFields(query, query.getFields(), null, 2)).thenReturn(new ArrayList<>(List.of(first, second)));
+
+        EmployeePage<Map<String, Object>> page = employeeService.findEmployeeFields(query);
+
+        assertEquals(List.of(Map.of("email", "a@example.com")), page.getEmployees());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void testFindEmployees_InvalidCursor() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setCursor("not-a-cursor");
+
+        assertThrows(InvalidInputException.class, () -> employeeService.findEmployees(query));
+    }
+
+    @Test
+    void testFindEmployees_UnknownSortField() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setSort(Collections.singletonList("password"));
+
+        assertThrows(InvalidInputException.class, () -> employeeService.findEmployees(query));
+    }
+
     @Test
     void testGetEmployeeById_Success() {
         when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
 
         Employee foundEmployee = employeeService.getEmployeeById(employeeId);
 
-        assertEquals(employee, foundEmployee);
+        assertEquals(employee.getId(), foundEmployee.getId());
+        assertEquals(employee.getEmail(), foundEmployee.getEmail());
         verify(employeeRepository).findById(employeeId);
     }
 
+    @Test
+    void testGetEmployeeById_ServedFromCache() {
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+
+        Employee first = employeeService.getEmployeeById(employeeId);
+        Employee second = employeeService.getEmployeeById(employeeId);
+
+        assertSame(first, second);
+        verify(employeeRepository, times(1)).findById(employeeId);
+    }
+
+    @Test
+    void testUpdateEmployee_EvictsCachedEmployee() {
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        employeeService.getEmployeeById(employeeId);
+
+        employee.setVersion(0L);
+        when(employeeRepository.updateReturningPrevious(eq(employeeId), anyMap(), isNull())).thenReturn(Optional.of(employee));
+
+        employeeService.updateEmployee(employeeId, new Employee(employeeId, "ahmed", "mohamed", "ahmed.mohamed@example.com", "HR", 2500), null);
+        employeeService.getEmployeeById(employeeId);
+
+        verify(employeeCache).evictAfterCommit(employeeId);
+        verify(employeeRepository, times(2)).findById(employeeId);
+    }
+
     @Test
     void testGetEmployeeById_NotFound() {
         when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
@@ -84,12 +215,13 @@ class EmployeeServiceTest {
     @Test
     void testCreateEmployee_Success() {
         when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
-        when(emailValidationService.isValidEmail(anyString())).thenReturn(true);
-        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
         Employee createdEmployee = employeeService.createEmployee(employee);
 
         assertEquals(employee, createdEmployee);
         verify(employeeRepository).save(employee);
+        InOrder order = inOrder(departmentRegistry, transactionManager);
+        order.verify(departmentRegistry).register("IT");
+        order.verify(transactionManager).getTransaction(any());
         verify(emailService).sendEmail(employee.getEmail(), "Employee Created", "Welcome, " + employee.getFirstName() + "!");
     }
 
@@ -105,48 +237,177 @@ class EmployeeServiceTest {
         verify(employeeRepository, never()).save(any());
     }
 
+    @Test
+    void testCreateEmployee_RejectedByValidator() {
+        doThrow(new InvalidInputException("Invalid department")).when(employeeValidator).validate(employee);
+
+        assertThrows(InvalidInputException.class, () -> employeeService.createEmployee(employee));
+
+        verify(employeeRepository, never()).save(any());
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testCreateEmployeeAsync_SavesOnTaskExecutorAfterValidation() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        when(employeeValidator.validateAsync(employee)).thenReturn(CompletableFuture.completedFuture(Collections.emptySet()));
+        when(employeeRepository.save(employee)).thenReturn(employee);
+
+        Employee createdEmployee = employeeService.createEmployeeAsync(employee).join();
+
+        assertEquals(employee, createdEmployee);
+        verify(taskExecutor).execute(any(Runnable.class));
+        verify(transactionManager).commit(any());
+        verify(emailService).sendEmail(employee.getEmail(), "Employee Created", "Welcome, " + employee.getFirstName() + "!");
+    }
+
+    @Test
+    void testCreateEmployeeAsync_RejectedByValidator() {
+        when(employeeValidator.validateAsync(employee))
+                .thenReturn(CompletableFuture.failedFuture(new InvalidInputException("Invalid department")));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> employeeService.createEmployeeAsync(employee).join());
+
+        assertTrue(exception.getCause() instanceof InvalidInputException);
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateEmployeeAsync_CreateExecutorFull() {
+        doThrow(new RejectedExecutionException("create executor full")).when(taskExecutor).execute(any(Runnable.class));
+        when(employeeValidator.validateAsync(employee)).thenReturn(CompletableFuture.completedFuture(Collections.emptySet()));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> employeeService.createEmployeeAsync(employee).join());
+
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        verify(employeeRepository, never()).save(any());
+    }
+
     @Test
     void testUpdateEmployee_Success() {
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        employee.setVersion(3L);
+        when(employeeRepository.updateReturningPrevious(eq(employeeId), anyMap(), isNull())).thenReturn(Optional.of(employee));
         Employee updatedEmployee = new Employee(employeeId, "ahmed", "mohamed", "ahmed.mohamed@example.com", "HR", 2500);
 
-        Employee updated = employeeService.updateEmployee(employeeId, updatedEmployee);
+        Employee updated = employeeService.updateEmployee(employeeId, updatedEmployee, null);
 
         assertEquals(updatedEmployee.getFirstName(), updated.getFirstName());
         assertEquals(updatedEmployee.getLastName(), updated.getLastName());
-        verify(emailService).sendEmail(employee.getEmail(), "Employee Updated", "Your details have been updated.");
+        assertEquals(4L, updated.getVersion());
+        verify(employeeRepository, never()).findById(any());
+        verify(emailService).sendEmail(updatedEmployee.getEmail(), "Employee Updated", "Your details have been updated.");
+        verify(departmentStatsService).recordUpdated("IT", 2000, updated);
+        verify(changeLog).recordUpdated(updated);
     }
 
     @Test
     void testUpdateEmployee_NotFound() {
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.updateReturningPrevious(eq(employeeId), anyMap(), isNull())).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EmployeeNotFoundException.class, () -> {
-            employeeService.updateEmployee(employeeId, employee);
+            employeeService.updateEmployee(employeeId, employee, null);
         });
 
         assertEquals("Employee not found with ID: " + employeeId, exception.getMessage());
-        verify(employeeRepository).findById(employeeId);
+        verify(departmentStatsService, never()).recordUpdated(anyString(), anyDouble(), any());
+    }
+
+    @Test
+    void testPatchEmployee_WritesOnlyChangedFields() {
+        employee.setVersion(1L);
+        when(employeeRepository.updateReturningPrevious(employeeId, Map.of("salary", 3000.0), 1L)).thenReturn(Optional.of(employee));
+
+        Employee patched = employeeService.patchEmployee(employeeId, Map.of("salary", 3000), 1L);
+
+        assertEquals(3000, patched.getSalary());
+        assertEquals(employee.getFirstName(), patched.getFirstName());
+        assertEquals(2L, patched.getVersion());
+        verify(departmentStatsService).recordUpdated("IT", 2000, patched);
+    }
+
+    @Test
+    void testPatchEmployee_StaleVersion() {
+        when(employeeRepository.updateReturningPrevious(eq(employeeId), anyMap(), eq(1L))).thenReturn(Optional.empty());
+        when(employeeRepository.existsById(employeeId)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> employeeService.patchEmployee(employeeId, Map.of("department", "HR"), 1L));
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testPatchEmployee_RegistersNewDepartment() {
+        employee.setVersion(0L);
+        when(employeeRepository.updateReturningPrevious(eq(employeeId), anyMap(), isNull())).thenReturn(Optional.of(employee));
+        when(departmentRegistry.isRegistered("IT")).thenReturn(true);
+
+        employeeService.patchEmployee(employeeId, Map.of("department", "IT"), null);
+        employeeService.patchEmployee(employeeId, Map.of("department", "Legal"), null);
+
+        verify(employeeValidator, never()).checkDepartment("IT");
+        verify(employeeValidator).checkDepartment("Legal");
+        verify(departmentRegistry).register("Legal");
+    }
+
+    @Test
+    void testPatchEmployee_RejectedDepartmentNotRegistered() {
+        doThrow(new InvalidInputException("Invalid department")).when(employeeValidator).checkDepartment("Nowhere");
+
+        assertThrows(InvalidInputException.class,
+                () -> employeeService.patchEmployee(employeeId, Map.of("department", "Nowhere"), null));
+        verify(departmentRegistry, never()).register(anyString());
+        verify(employeeRepository, never()).updateReturningPrevious(any(), anyMap(), any());
+    }
+
+    @Test
+    void testPatchEmployee_InvalidChanges() {
+        assertThrows(InvalidInputException.class, () -> employeeService.patchEmployee(employeeId, Map.of("id", "x"), null));
+        assertThrows(InvalidInputException.class, () -> employeeService.patchEmployee(employeeId, Map.of("salary", 1000), null));
+        assertThrows(InvalidInputException.class, () -> employeeService.patchEmployee(employeeId, Map.of(), null));
+        verify(employeeRepository, never()).updateReturningPrevious(any(), anyMap(), any());
     }
 
     @Test
     void testDeleteEmployee_Success() {
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        when(employeeRepository.deleteByIdReturning(employeeId)).thenReturn(Optional.of(employee));
 
         employeeService.deleteEmployee(employeeId);
 
-        verify(employeeRepository).delete(employee);
+        verify(employeeRepository, never()).findById(any());
+        verify(departmentStatsService).recordDeleted(employee);
+        verify(employeeSearchIndex).indexDeleted(employeeId);
+        verify(changeLog).recordDeleted(employee);
+        verify(employeeCache).evictAfterCommit(employeeId);
+    }
+
+    @Test
+    void testSearchEmployees_KeepsRankOrder() {
+        EmployeeView view = EmployeeView.of(employee);
+        EmployeeView other = new EmployeeView(UUID.randomUUID(), "ahmed", "salem", "ahmed.salem@example.com", "HR", 2000, 0L);
+        UUID deletedId = UUID.randomUUID();
+        when(employeeSearchIndex.search("ahmed", 50)).thenReturn(List.of(other.getId(), deletedId, employeeId));
+        when(employeeRepository.findViewsById(List.of(other.getId(), deletedId, employeeId))).thenReturn(List.of(view, other));
+
+        List<EmployeeView> found = employeeService.searchEmployees("ahmed", null);
+
+        assertEquals(List.of(other, view), found);
+        assertThrows(InvalidInputException.class, () -> employeeService.searchEmployees(" ", null));
     }
 
     @Test
     void testDeleteEmployee_NotFound() {
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.deleteByIdReturning(employeeId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.deleteEmployee(employeeId);
         });
 
         assertEquals("Employee not found with ID: " + employeeId, exception.getMessage());
-        verify(employeeRepository).findById(employeeId);
+        verify(departmentStatsService, never()).recordDeleted(any());
     }
 }
@@ -0,0 +1,74 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.IdempotencyProperties;
+import com.digivisions.task.employeemanager.exception.IdempotencyKeyReusedException;
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyStore idempotencyStore;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(new IdempotencyProperties(), new SimpleMeterRegistry());
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void testDuplicateWaitsForAndSharesFirstResult() throws Exception {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = idempotencyStore.execute("key", List.of("a"), () -> run(pending));
+        CompletableFuture<String> duplicate = idempotencyStore.execute("key", List.of("a"), () -> run(pending));
+        assertFalse(duplicate.isDone());
+
+        pending.complete("created");
+        assertEquals("created", first.get());
+        assertEquals("created", duplicate.get());
+        assertEquals("created", idempotencyStore.execute("key", List.of("a"), () -> run(pending)).get());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testFailureIsNotKept() throws Exception {
+        CompletableFuture<String> failed = idempotencyStore.execute("key", List.of("a"),
+                () -> run(CompletableFuture.failedFuture(new IllegalStateException("down"))));
+        assertThrows(ExecutionException.class, failed::get);
+
+        assertEquals("created", idempotencyStore.execute("key", List.of("a"),
+                () -> run(CompletableFuture.completedFuture("created"))).get());
+        assertThrows(InvalidInputException.class, () -> idempotencyStore.execute("other", List.of("a"), () -> {
+            throw new InvalidInputException("Salary must be greater than or equal to 1,500.");
+        }));
+        assertEquals("retried", idempotencyStore.execute("other", List.of("a"),
+                () -> run(CompletableFuture.completedFuture("retried"))).get());
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequest() {
+        idempotencyStore.execute("key", List.of("a"), () -> run(CompletableFuture.completedFuture("created")));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.execute("key", List.of("b"), () -> run(CompletableFuture.completedFuture("other"))));
+        assertThrows(InvalidInputException.class,
+                () -> idempotencyStore.execute(" ", List.of("a"), () -> run(CompletableFuture.completedFuture("x"))));
+        assertEquals(1, runs.get());
+    }
+
+    private CompletableFuture<String> run(CompletableFuture<String> result) {
+        runs.incrementAndGet();
+        return result;
+    }
+}
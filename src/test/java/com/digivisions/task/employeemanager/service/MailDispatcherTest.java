@@ -0,0 +1,144 @@
+package com.digivisions.task.employeemanager.service;
+
+import com.digivisions.task.employeemanager.config.MailOutboxProperties;
+import com.digivisions.task.employeemanager.model.MailStatus;
+import com.digivisions.task.employeemanager.model.OutboxMail;
+import com.digivisions.task.employeemanager.repository.OutboxMailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailDispatcherTest {
+
+    @Mock
+    private OutboxMailRepository outboxMailRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private MailOutboxProperties properties;
+    private MailDispatcher mailDispatcher;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new MailOutboxProperties();
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        meterRegistry = new SimpleMeterRegistry();
+        mailDispatcher = new MailDispatcher(outboxMailRepository, mailSender, Runnable::run, properties, meterRegistry);
+        ReflectionTestUtils.setField(mailDispatcher, "fromEmail", "noreply@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailDispatcher.shutdown();
+    }
+
+    @Test
+    void testSend_AllDeliveredOverOneConnection() {
+        OutboxMail first = mail("a@example.com");
+        OutboxMail second = mail("b@example.com");
+
+        mailDispatcher.send(Arrays.asList(first, second));
+
+        verify(mailSender, times(1)).send((MimeMessage[]) any());
+        verify(outboxMailRepository).markSent(eq(Arrays.asList(first.getId(), second.getId())), any(Instant.class));
+        verify(outboxMailRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testSend_FailedMailIsRetriedLater() {
+        OutboxMail first = mail("a@example.com");
+        OutboxMail second = mail("b@example.com");
+        doAnswer(invocation -> {
+            MimeMessage failedMessage = invocation.getArgument(1);
+            Map<Object, Exception> failures = Collections.singletonMap(failedMessage, new RuntimeException("mailbox full"));
+            throw new MailSendException(failures);
+        }).when(mailSender).send((MimeMessage[]) any());
+
+        mailDispatcher.send(Arrays.asList(first, second));
+
+        verify(outboxMailRepository).markSent(eq(Collections.singletonList(first.getId())), any(Instant.class));
+        assertEquals(MailStatus.PENDING, second.getStatus());
+        assertEquals(1, second.getAttempts());
+        assertTrue(second.getNextAttemptAt().isAfter(Instant.now()));
+        verify(outboxMailRepository).saveAll(Collections.singletonList(second));
+    }
+
+    @Test
+    void testSend_GivesUpAfterMaxAttempts() {
+        OutboxMail mail = mail("a@example.com");
+        mail.setAttempts(properties.getMaxAttempts() - 1);
+        doThrow(new MailSendException("connection refused")).when(mailSender).send((MimeMessage[]) any());
+
+        mailDispatcher.send(Collections.singletonList(mail));
+
+        assertEquals(MailStatus.FAILED, mail.getStatus());
+        verify(outboxMailRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void testPendingGaugeTracksOutboxWithoutQuerying() {
+        when(outboxMailRepository.countByStatus(MailStatus.PENDING)).thenReturn(3L);
+        mailDispatcher.poll();
+        assertEquals(3, meterRegistry.get("mail.outbox.pending").gauge().value());
+
+        OutboxMail sent = mail("a@example.com");
+        OutboxMail failed = mail("b@example.com");
+        failed.setAttempts(properties.getMaxAttempts() - 1);
+        doAnswer(invocation -> {
+            MimeMessage failedMessage = invocation.getArgument(1);
+            throw new MailSendException(Collections.singletonMap(failedMessage, new RuntimeException("no such user")));
+        }).when(mailSender).send((MimeMessage[]) any());
+        mailDispatcher.send(Arrays.asList(sent, failed));
+
+        assertEquals(1, meterRegistry.get("mail.outbox.pending").gauge().value());
+        verify(outboxMailRepository, times(1)).countByStatus(MailStatus.PENDING);
+    }
+
+    @Test
+    void testDrainBatch_SplitsIntoConnectionBatches() {
+        properties.setConnectionBatchSize(2);
+        List<OutboxMail> due = Arrays.asList(mail("a@example.com"), mail("b@example.com"), mail("c@example.com"));
+        when(outboxMailRepository.findDue(eq(MailStatus.PENDING), any(Instant.class), any())).thenReturn(due);
+
+        assertEquals(3, mailDispatcher.drainBatch());
+
+        verify(mailSender, times(2)).send((MimeMessage[]) any());
+    }
+
+    @Test
+    void testBackoff_GrowsAndIsCapped() {
+        assertEquals(properties.getInitialBackoff(), mailDispatcher.backoff(1));
+        assertEquals(properties.getInitialBackoff().multipliedBy(4), mailDispatcher.backoff(3));
+        assertEquals(properties.getMaxBackoff(), mailDispatcher.backoff(30));
+    }
+
+    private static OutboxMail mail(String recipient) {
+        OutboxMail mail = new OutboxMail(recipient, "Employee Created", "Welcome!", Instant.now().minus(Duration.ofSeconds(1)));
+        mail.setId(UUID.randomUUID());
+        return mail;
+    }
+}
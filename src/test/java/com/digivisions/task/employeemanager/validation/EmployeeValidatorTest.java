@@ -0,0 +1,218 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.LocalValidationProperties;
+import com.digivisions.task.employeemanager.config.ResilienceProperties;
+import com.digivisions.task.employeemanager.config.ResilienceProperties.DegradedPolicy;
+import com.digivisions.task.employeemanager.config.ValidationProperties;
+import com.digivisions.task.employeemanager.exception.ExternalServiceException;
+import com.digivisions.task.employeemanager.exception.InvalidInputException;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeValidatorTest {
+
+    @Mock
+    private EmailValidationService emailValidationService;
+
+    @Mock
+    private DepartmentVerificationService departmentVerificationService;
+
+    @Mock
+    private DepartmentRegistry departmentRegistry;
+
+    private ExecutorService executor;
+    private ValidationProperties properties;
+    private ResilienceProperties resilienceProperties;
+    private LocalValidationProperties localProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeValidator employeeValidator;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(2);
+        properties = new ValidationProperties();
+        properties.setBudget(Duration.ofMillis(500));
+        resilienceProperties = new ResilienceProperties();
+        localProperties = new LocalValidationProperties();
+        localProperties.setDeniedDomains(Set.of("mailinator.com"));
+        meterRegistry = new SimpleMeterRegistry();
+        employeeValidator = new EmployeeValidator(emailValidationService, departmentVerificationService,
+                new LocalValidator(localProperties, departmentRegistry, meterRegistry), executor, properties, resilienceProperties);
+        employee = new Employee(UUID.randomUUID(), "ahmed hamdy", "elsawy", "ahmed.hamdey@example.com", "IT", 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testValidate_Success() {
+        when(emailValidationService.isValidEmail(employee.getEmail())).thenReturn(true);
+        when(departmentVerificationService.isValidDepartment("IT")).thenReturn(true);
+
+        assertTrue(employeeValidator.validate(employee).isEmpty());
+    }
+
+    @Test
+    void testValidate_RunsChecksConcurrently() {
+        when(emailValidationService.isValidEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return true;
+        });
+        when(departmentVerificationService.isValidDepartment(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return true;
+        });
+
+        long start = System.nanoTime();
+        employeeValidator.validate(employee);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 500, "took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testValidate_InvalidDepartmentShortCircuits() {
+        when(emailValidationService.isValidEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return true;
+        });
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(false);
+
+        Exception exception = assertThrows(InvalidInputException.class, () -> employeeValidator.validate(employee));
+
+        assertEquals("Invalid department", exception.getMessage());
+    }
+
+    @Test
+    void testValidate_BudgetExceeded() {
+        when(emailValidationService.isValidEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return true;
+        });
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
+
+        assertThrows(ExternalServiceException.class, () -> employeeValidator.validate(employee));
+    }
+
+    @Test
+    void testValidate_UnavailableFailsFastByDefault() {
+        when(emailValidationService.isValidEmail(anyString())).thenThrow(new ExternalServiceException("emailValidation is unavailable"));
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
+
+        assertThrows(ExternalServiceException.class, () -> employeeValidator.validate(employee));
+    }
+
+    @Test
+    void testValidate_UnavailableDeferredWhenAccepting() {
+        resilienceProperties.setDegradedPolicy(DegradedPolicy.ACCEPT_AND_RECHECK);
+        when(emailValidationService.isValidEmail(anyString())).thenThrow(new ExternalServiceException("emailValidation is unavailable"));
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
+
+        assertEquals(EnumSet.of(ValidationCheck.EMAIL), employeeValidator.validate(employee));
+    }
+
+    @Test
+    void testValidate_TimeoutDeferredWhenAccepting() {
+        resilienceProperties.setDegradedPolicy(DegradedPolicy.ACCEPT_AND_RECHECK);
+        when(emailValidationService.isValidEmail(anyString())).thenReturn(true);
+        when(departmentVerificationService.isValidDepartment(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return true;
+        });
+
+        assertEquals(EnumSet.of(ValidationCheck.DEPARTMENT), employeeValidator.validate(employee));
+    }
+
+    @Test
+    void testValidate_RejectionNotMaskedWhenAccepting() {
+        resilienceProperties.setDegradedPolicy(DegradedPolicy.ACCEPT_AND_RECHECK);
+        when(emailValidationService.isValidEmail(anyString())).thenReturn(false);
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
+
+        assertThrows(InvalidInputException.class, () -> employeeValidator.validate(employee));
+    }
+
+    @Test
+    void testValidateAsync_ReturnsBeforeChecksFinish() {
+        when(emailValidationService.isValidEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return true;
+        });
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
+
+        CompletableFuture<Set<ValidationCheck>> validation = employeeValidator.validateAsync(employee);
+
+        assertFalse(validation.isDone());
+        assertTrue(validation.join().isEmpty());
+    }
+
+    @Test
+    void testValidateAsync_BudgetExceeded() {
+        when(emailValidationService.isValidEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return true;
+        });
+        when(departmentVerificationService.isValidDepartment(anyString())).thenReturn(true);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> employeeValidator.validateAsync(employee).join());
+
+        assertTrue(exception.getCause() instanceof ExternalServiceException);
+    }
+
+    @Test
+    void testValidate_LocalRejectionSkipsRemoteCalls() {
+        employee.setEmail("ahmed.hamdey@mailinator.com");
+
+        Exception exception = assertThrows(InvalidInputException.class, () -> employeeValidator.validate(employee));
+
+        assertEquals("Invalid email address", exception.getMessage());
+        employee.setEmail("ahmed.hamdey@example");
+        assertThrows(InvalidInputException.class, () -> employeeValidator.validate(employee));
+        verifyNoInteractions(emailValidationService, departmentVerificationService);
+        assertEquals(2, meterRegistry.counter("validation.remote.avoided", "check", "email", "verdict", "rejected").count());
+    }
+
+    @Test
+    void testValidate_LocallyAcceptedChecksSkipRemoteCall() {
+        localProperties.setAllowedDomains(Set.of("example.com"));
+        employeeValidator = new EmployeeValidator(emailValidationService, departmentVerificationService,
+                new LocalValidator(localProperties, departmentRegistry, meterRegistry), executor, properties, resilienceProperties);
+        when(departmentVerificationService.isValidDepartment("IT")).thenReturn(true);
+
+        assertTrue(employeeValidator.validate(employee).isEmpty());
+        verifyNoInteractions(emailValidationService);
+        verify(departmentVerificationService).isValidDepartment("IT");
+    }
+
+    @Test
+    void testValidate_RegisteredDepartmentSkipsRemoteCall() {
+        when(departmentRegistry.isRegistered("IT")).thenReturn(true);
+        when(emailValidationService.isValidEmail(employee.getEmail())).thenReturn(true);
+
+        assertTrue(employeeValidator.validate(employee).isEmpty());
+        verifyNoInteractions(departmentVerificationService);
+    }
+}
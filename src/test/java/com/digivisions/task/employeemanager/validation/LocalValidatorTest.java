@@ -0,0 +1,63 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.LocalValidationProperties;
+import com.digivisions.task.employeemanager.service.DepartmentRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LocalValidatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEmailDecisions() {
+        LocalValidationProperties properties = new LocalValidationProperties();
+        properties.setDeniedDomains(Set.of("Mailinator.com"));
+        properties.setAllowedDomains(Set.of("digivisions.com"));
+        LocalValidator localValidator = new LocalValidator(properties, mock(DepartmentRegistry.class), new SimpleMeterRegistry());
+
+        assertEquals(Boolean.FALSE, localValidator.decide(ValidationCheck.EMAIL, "not an email"));
+        assertEquals(Boolean.FALSE, localValidator.decide(ValidationCheck.EMAIL, "ahmed@localhost"));
+        assertEquals(Boolean.FALSE, localValidator.decide(ValidationCheck.EMAIL, "ahmed@MAILINATOR.com"));
+        assertEquals(Boolean.TRUE, localValidator.decide(ValidationCheck.EMAIL, "ahmed.hamdy@digivisions.com"));
+        assertNull(localValidator.decide(ValidationCheck.EMAIL, "ahmed.hamdy@example.com"));
+        assertNull(localValidator.decide(ValidationCheck.EMAIL, "ahmed@example.xn--p1ai"));
+        assertNull(localValidator.decide(ValidationCheck.EMAIL, "\"ahmed..hamdy\"@digivisions.com"));
+    }
+
+    @Test
+    void testDepartmentsReloadedWhenFileChanges() throws Exception {
+        Path file = directory.resolve("departments.txt");
+        Files.writeString(file, "# known departments\nIT\n\nFinance\n");
+        LocalValidationProperties properties = new LocalValidationProperties();
+        properties.setDepartmentsFile(file.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalValidator localValidator = new LocalValidator(properties, mock(DepartmentRegistry.class), meterRegistry);
+
+        assertEquals(Boolean.TRUE, localValidator.decide(ValidationCheck.DEPARTMENT, "it"));
+        assertNull(localValidator.decide(ValidationCheck.DEPARTMENT, "HR"));
+
+        Files.writeString(file, "IT\nHR\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        localValidator.reloadDepartments();
+
+        assertEquals(Boolean.TRUE, localValidator.decide(ValidationCheck.DEPARTMENT, "HR"));
+        assertNull(localValidator.decide(ValidationCheck.DEPARTMENT, "Finance"));
+        assertEquals(2, meterRegistry.counter("validation.remote.avoided", "check", "department", "verdict", "passed").count());
+
+        Files.delete(file);
+        localValidator.reloadDepartments();
+        assertEquals(Boolean.TRUE, localValidator.decide(ValidationCheck.DEPARTMENT, "HR"));
+    }
+}
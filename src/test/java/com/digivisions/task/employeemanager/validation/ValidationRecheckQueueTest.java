@@ -0,0 +1,135 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.ResilienceProperties;
+import com.digivisions.task.employeemanager.exception.ExternalServiceException;
+import com.digivisions.task.employeemanager.model.Employee;
+import com.digivisions.task.employeemanager.model.RecheckStatus;
+import com.digivisions.task.employeemanager.model.ValidationRecheck;
+import com.digivisions.task.employeemanager.repository.EmployeeRepository;
+import com.digivisions.task.employeemanager.repository.ValidationRecheckRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ValidationRecheckQueueTest {
+
+    @Mock
+    private ValidationRecheckRepository recheckRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeValidator employeeValidator;
+
+    private ResilienceProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ValidationRecheckQueue recheckQueue;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new ResilienceProperties();
+        properties.setRecheckMaxAttempts(2);
+        meterRegistry = new SimpleMeterRegistry();
+        recheckQueue = new ValidationRecheckQueue(recheckRepository, employeeRepository, employeeValidator, properties,
+                meterRegistry);
+        employee = new Employee(UUID.randomUUID(), "ahmed", "hamdy", "ahmed.hamdy@example.com", "IT", 2000);
+        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+    }
+
+    @Test
+    void testScheduleStoresChecks() {
+        recheckQueue.schedule(employee.getId(), Set.of());
+        verify(recheckRepository, never()).save(any());
+
+        recheckQueue.schedule(employee.getId(), EnumSet.of(ValidationCheck.EMAIL, ValidationCheck.DEPARTMENT));
+        ArgumentCaptor<ValidationRecheck> saved = ArgumentCaptor.forClass(ValidationRecheck.class);
+        verify(recheckRepository).save(saved.capture());
+        assertEquals(RecheckStatus.PENDING, saved.getValue().getStatus());
+        assertEquals(EnumSet.allOf(ValidationCheck.class), saved.getValue().getChecks());
+    }
+
+    @Test
+    void testPassedRecheckIsDeleted() {
+        ValidationRecheck recheck = due(EnumSet.of(ValidationCheck.EMAIL));
+        when(employeeValidator.passes(ValidationCheck.EMAIL, employee)).thenReturn(true);
+
+        recheckQueue.recheck();
+
+        verify(recheckRepository).delete(recheck);
+        assertEquals(1, outcomes("passed"));
+    }
+
+    @Test
+    void testFailedCheckMarksRejected() {
+        ValidationRecheck recheck = due(EnumSet.of(ValidationCheck.EMAIL, ValidationCheck.DEPARTMENT));
+        when(employeeValidator.passes(ValidationCheck.EMAIL, employee)).thenReturn(true);
+        when(employeeValidator.passes(ValidationCheck.DEPARTMENT, employee)).thenReturn(false);
+
+        recheckQueue.recheck();
+
+        assertEquals(RecheckStatus.REJECTED, recheck.getStatus());
+        assertEquals("Invalid department", recheck.getLastError());
+        verify(recheckRepository).save(recheck);
+        assertEquals(1, outcomes("rejected"));
+    }
+
+    @Test
+    void testUnavailableValidatorRetriedThenAbandoned() {
+        ValidationRecheck recheck = due(EnumSet.of(ValidationCheck.EMAIL, ValidationCheck.DEPARTMENT));
+        when(employeeValidator.passes(ValidationCheck.EMAIL, employee)).thenReturn(true);
+        when(employeeValidator.passes(ValidationCheck.DEPARTMENT, employee))
+                .thenThrow(new ExternalServiceException("Department verification unavailable"));
+
+        recheckQueue.recheck();
+
+        assertEquals(RecheckStatus.PENDING, recheck.getStatus());
+        assertEquals(EnumSet.of(ValidationCheck.DEPARTMENT), recheck.getChecks());
+        assertTrue(recheck.getNextAttemptAt().isAfter(Instant.now()));
+
+        recheckQueue.recheck();
+
+        assertEquals(RecheckStatus.ABANDONED, recheck.getStatus());
+        assertEquals(1, outcomes("retried"));
+        assertEquals(1, outcomes("abandoned"));
+    }
+
+    @Test
+    void testRunEndsWhenProcessedRowIsReadAgain() {
+        properties.setRecheckBatchSize(1);
+        ValidationRecheck recheck = due(EnumSet.of(ValidationCheck.EMAIL));
+        when(employeeValidator.passes(ValidationCheck.EMAIL, employee)).thenReturn(true);
+
+        recheckQueue.recheck();
+
+        verify(recheckRepository, times(2)).findDue(eq(RecheckStatus.PENDING), any(), any());
+        verify(recheckRepository, times(1)).delete(recheck);
+    }
+
+    private ValidationRecheck due(Set<ValidationCheck> checks) {
+        ValidationRecheck recheck = new ValidationRecheck(employee.getId(), checks, Instant.now());
+        recheck.setId(UUID.randomUUID());
+        when(recheckRepository.findDue(eq(RecheckStatus.PENDING), any(), any())).thenReturn(List.of(recheck));
+        return recheck;
+    }
+
+    private double outcomes(String outcome) {
+        return meterRegistry.get("validation.recheck.outcomes").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,93 @@
+package com.digivisions.task.employeemanager.validation;
+
+import com.digivisions.task.employeemanager.config.ValidationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificationCacheTest {
+
+    private ValidationCacheProperties properties;
+    private AtomicInteger calls;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ValidationCacheProperties();
+        calls = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRepeatedLookupHitsCache() {
+        VerificationCache cache = new VerificationCache("test", properties, meterRegistry, key -> {
+            calls.incrementAndGet();
+            return "IT".equals(key);
+        });
+
+        assertTrue(cache.isValid("IT"));
+        assertTrue(cache.isValid("IT"));
+        assertFalse(cache.isValid("Unknown"));
+        assertFalse(cache.isValid("Unknown"));
+
+        assertEquals(2, calls.get());
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testFailedLookupIsNotCached() {
+        VerificationCache cache = new VerificationCache("test", properties, meterRegistry, key -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("provider down");
+            }
+            return true;
+        });
+
+        assertThrows(IllegalStateException.class, () -> cache.isValid("IT"));
+        assertTrue(cache.isValid("IT"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testConcurrentLookupsAreCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        VerificationCache cache = new VerificationCache("test", properties, meterRegistry, key -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> cache.isValid("IT"));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertEquals(true, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+    }
+}